@@ -0,0 +1,66 @@
+// Read load against the customer and account lookups.
+//   k6 run -e BASE_URL=http://localhost:8080 -e CUSTOMERS=500 accounts/loadtest/customers-read.js
+// Run it once with the application started with --spring.threads.virtual.enabled=false and once with
+// true, and compare http_req_duration percentiles, http_reqs and the 503 rate.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const CUSTOMERS = parseInt(__ENV.CUSTOMERS || '500');
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    setupTimeout: '120s',
+    scenarios: {
+        reads: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 50 },
+                { duration: '1m', target: 400 },
+                { duration: '1m', target: 1000 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{name:customer}': ['p(99)<500'],
+        'http_req_duration{name:account}': ['p(99)<500'],
+    },
+};
+
+export function setup() {
+    const run = Date.now() % 100000;
+    const customers = [];
+    for (let i = 0; i < CUSTOMERS; i++) {
+        const n = run * 10000 + i;
+        customers.push({
+            documentType: 'CC',
+            documentNumber: String(10000000 + n),
+            name: `Load Test ${n}`,
+            email: `load${n}@correo.com`,
+            mobileNumber: String(3000000000 + n),
+        });
+    }
+    const created = http.post(`${BASE_URL}/api/customers/bulk`, JSON.stringify(customers), JSON_HEADERS);
+    check(created, { 'customers created': (r) => r.status === 200 });
+    const customerIds = created.json('results').filter((r) => r.id !== null).map((r) => r.id);
+
+    const accounts = customerIds.map((customerId) => ({
+        customerId: customerId,
+        accountType: 'Savings',
+        branchName: 'Load Test Branch',
+    }));
+    const opened = http.post(`${BASE_URL}/api/accounts/bulk`, JSON.stringify(accounts), JSON_HEADERS);
+    check(opened, { 'accounts created': (r) => r.status === 200 });
+    return { customerIds: customerIds };
+}
+
+export default function (data) {
+    const customerId = data.customerIds[Math.floor(Math.random() * data.customerIds.length)];
+    const customer = http.get(`${BASE_URL}/api/customers/${customerId}`, { tags: { name: 'customer' } });
+    check(customer, { 'customer 200': (r) => r.status === 200 });
+    const account = http.get(`${BASE_URL}/api/accounts/customerId/${customerId}`, { tags: { name: 'account' } });
+    check(account, { 'account 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,71 @@
+package com.fmattaperdomo.accounts.benchmark;
+
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
+import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
+import com.fmattaperdomo.accounts.mapper.PageMapper;
+import com.fmattaperdomo.accounts.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls the AccountService lookup and list paths through the Spring proxy on a database seeded with
+ * rows customers, each with one active account. getAccountsByBranchName returns rows / 1000 accounts,
+ * so it shows how the list paths grow with the data volume.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccountServiceBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private long firstCustomerId;
+    private long firstAccountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start("account-service-benchmark-" + rows);
+        firstCustomerId = BenchmarkData.seed(context, rows);
+        accountService = context.getBean(AccountService.class);
+        firstAccountId = accountService.getAccounts(null, 1).getContent().get(0).getAccountId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountResponseDto getAccountByCustomerId() {
+        return accountService.getAccountByCustomerId(firstCustomerId + ThreadLocalRandom.current().nextInt(rows));
+    }
+
+    @Benchmark
+    public List<AccountResponseDto> getAccountsByCustomerId() {
+        return accountService.getAccountsByCustomerId(firstCustomerId + ThreadLocalRandom.current().nextInt(rows));
+    }
+
+    @Benchmark
+    public PageResponseDto<AccountResponseDto> getAccounts() {
+        long after = firstAccountId + ThreadLocalRandom.current().nextInt(rows - PAGE_SIZE);
+        return accountService.getAccounts(PageMapper.encodeCursor(after), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<AccountResponseDto> getAccountsByBranchName() {
+        return accountService.getAccountsByBranchName("Branch " + ThreadLocalRandom.current().nextInt(BenchmarkData.BRANCHES),
+                SearchMatchMode.EXACT);
+    }
+}
@@ -0,0 +1,86 @@
+package com.fmattaperdomo.accounts.benchmark;
+
+import com.fmattaperdomo.accounts.AccountsApplication;
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.entity.Account;
+import com.fmattaperdomo.accounts.entity.Customer;
+import com.fmattaperdomo.accounts.repository.AccountRepository;
+import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import com.fmattaperdomo.accounts.search.CustomerSearchIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without the web layer against its own embedded H2 database and seeds it with
+ * customers and one active account each. Rows are written in chunks, one transaction per chunk, so
+ * seeding a million customers never holds more than one chunk in the persistence context.
+ */
+final class BenchmarkData {
+    static final int BRANCHES = 1000;
+    private static final int SEED_CHUNK = 10_000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * The caches are disabled so every invocation reaches the database.
+     *
+     * @param database - name of the in-memory database, unique per benchmark and parameter set
+     */
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(AccountsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database,
+                        "spring.jpa.show-sql=false",
+                        "spring.cache.type=none")
+                .run();
+    }
+
+    /**
+     * Customer n is named "Benchmark n" and its account belongs to branch "Branch n % BRANCHES".
+     *
+     * @return id of the first seeded customer, the others follow it consecutively
+     */
+    static long seed(ConfigurableApplicationContext context, int rows) {
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        long firstCustomerId = -1L;
+        for (int from = 0; from < rows; from += SEED_CHUNK) {
+            List<Customer> customers = new ArrayList<>(SEED_CHUNK);
+            for (int n = from; n < Math.min(from + SEED_CHUNK, rows); n++) {
+                Customer customer = new Customer();
+                customer.setDocumentType("CC");
+                customer.setDocumentNumber("S" + n);
+                customer.setName("Benchmark " + n);
+                customer.setEmail("seed" + n + "@correo.com");
+                customer.setMobileNumber(String.valueOf(3000000000L + n));
+                customers.add(customer);
+            }
+            transactionTemplate.executeWithoutResult(status -> customerRepository.saveAll(customers));
+            List<Account> accounts = new ArrayList<>(customers.size());
+            for (int i = 0; i < customers.size(); i++) {
+                Account account = new Account();
+                account.setCustomerId(customers.get(i).getCustomerId());
+                account.setAccountNumber(AccountConstant.ACCOUNT_NUMBER_BASE + customers.get(i).getCustomerId());
+                account.setAccountType("Savings");
+                account.setBranchName("Branch " + ((from + i) % BRANCHES));
+                account.setAccountStatus(AccountConstant.ACCOUNT_STATUS);
+                accounts.add(account);
+            }
+            transactionTemplate.executeWithoutResult(status -> accountRepository.saveAll(accounts));
+            if (firstCustomerId < 0) {
+                firstCustomerId = customers.get(0).getCustomerId();
+            }
+        }
+        context.getBean(CustomerSearchIndex.class).rebuild();
+        return firstCustomerId;
+    }
+}
@@ -0,0 +1,33 @@
+package com.fmattaperdomo.accounts.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of mvn -Pbenchmark exec:java. Unless the arguments already choose a result format, the
+ * results are also written as JSON to the file named by the jmh.result system property, which the
+ * benchmark profile points at target/jmh-result-${project.version}.json so runs of two releases can be
+ * compared file against file.
+ */
+public final class BenchmarkMain {
+    private static final List<String> OWN_OUTPUT_OPTIONS = List.of("-rf", "-rff", "-h", "-l", "-lp", "-lprof");
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String result = System.getProperty("jmh.result");
+        if (result == null || Arrays.stream(args).anyMatch(OWN_OUTPUT_OPTIONS::contains)) {
+            Main.main(args);
+            return;
+        }
+        String[] arguments = Arrays.copyOf(args, args.length + 4);
+        arguments[args.length] = "-rf";
+        arguments[args.length + 1] = "json";
+        arguments[args.length + 2] = "-rff";
+        arguments[args.length + 3] = result;
+        Main.main(arguments);
+    }
+}
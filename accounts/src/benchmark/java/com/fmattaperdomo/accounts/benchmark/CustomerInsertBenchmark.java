@@ -0,0 +1,72 @@
+package com.fmattaperdomo.accounts.benchmark;
+
+import com.fmattaperdomo.accounts.AccountsApplication;
+import com.fmattaperdomo.accounts.entity.Customer;
+import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts customers through the repository in one transaction per invocation. batchSize 1 writes every
+ * row in its own round trip, as IDENTITY ids forced before, while batchSize 1000 lets Hibernate group
+ * the inserts into JDBC batches now that ids come from a pooled sequence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerInsertBenchmark {
+    private static final int ROWS = 1000;
+
+    @Param({"1", "1000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private TransactionTemplate transactionTemplate;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:insert-benchmark-" + batchSize,
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize)
+                .run();
+        customerRepository = context.getBean(CustomerRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertCustomers() {
+        List<Customer> customers = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long n = sequence++;
+            Customer customer = new Customer();
+            customer.setDocumentType("CC");
+            customer.setDocumentNumber("B" + n);
+            customer.setName("Benchmark " + n);
+            customer.setEmail("benchmark" + n + "@correo.com");
+            customer.setMobileNumber(String.valueOf(3000000000L + n));
+            customers.add(customer);
+        }
+        transactionTemplate.executeWithoutResult(status -> customerRepository.saveAll(customers));
+    }
+}
@@ -0,0 +1,52 @@
+package com.fmattaperdomo.accounts.benchmark;
+
+import com.fmattaperdomo.accounts.dto.CustomerRequestDto;
+import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.entity.Customer;
+import com.fmattaperdomo.accounts.mapper.CustomerMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the two copies every customer goes through in production, without a Spring context: the
+ * generated mapper filling a new Customer from a request, as createCustomer and the bulk endpoints do,
+ * and the 13-argument constructor Hibernate calls for each row of CUSTOMER_RESPONSE_SELECT. Run it with
+ * -prof gc; a row without an active account reuses AccountResponseDto.NONE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerMappingBenchmark {
+
+    @Param({"true", "false"})
+    public boolean withAccount;
+
+    private CustomerRequestDto customerRequestDto;
+    private Long accountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        customerRequestDto = new CustomerRequestDto();
+        customerRequestDto.setDocumentType("CC");
+        customerRequestDto.setDocumentNumber("11122233");
+        customerRequestDto.setName("Cliente 1");
+        customerRequestDto.setEmail("cliente1@correo.com");
+        customerRequestDto.setMobileNumber("1112223333");
+        accountId = withAccount ? 1L : null;
+    }
+
+    @Benchmark
+    public Customer mapToCustomerRequest() {
+        return CustomerMapper.INSTANCE.mapToCustomerRequest(customerRequestDto, new Customer());
+    }
+
+    @Benchmark
+    public CustomerResponseDto projectCustomerResponse() {
+        return new CustomerResponseDto(1L, "CC", "11122233", "Cliente 1", "cliente1@correo.com", "1112223333", 0L,
+                null, accountId, 1234567890L, "Savings", "Main Branch", "Active", 0L, null);
+    }
+}
@@ -0,0 +1,114 @@
+package com.fmattaperdomo.accounts.benchmark;
+
+import com.fmattaperdomo.accounts.AccountsApplication;
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.entity.Account;
+import com.fmattaperdomo.accounts.entity.Customer;
+import com.fmattaperdomo.accounts.repository.AccountRepository;
+import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads one customer with its active account, as GET /api/customers/{customerId} does on a cache miss.
+ * readPath entity loads managed Customer and Account entities in a read-write transaction and copies
+ * them into the response; readPath projection runs the single constructor-expression query in a
+ * read-only transaction. Run with -prof gc to compare the bytes allocated per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerReadBenchmark {
+    private static final int ROWS = 10_000;
+
+    @Param({"entity", "projection"})
+    public String readPath;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private AccountRepository accountRepository;
+    private TransactionTemplate transactionTemplate;
+    private long firstCustomerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:read-benchmark-" + readPath,
+                        "spring.jpa.show-sql=false")
+                .run();
+        customerRepository = context.getBean(CustomerRepository.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly("projection".equals(readPath));
+
+        List<Customer> customers = new ArrayList<>(ROWS);
+        for (int n = 0; n < ROWS; n++) {
+            Customer customer = new Customer();
+            customer.setDocumentType("CC");
+            customer.setDocumentNumber("R" + n);
+            customer.setName("Benchmark " + n);
+            customer.setEmail("read" + n + "@correo.com");
+            customer.setMobileNumber(String.valueOf(3000000000L + n));
+            customers.add(customer);
+        }
+        TransactionTemplate writeTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        writeTemplate.executeWithoutResult(status -> customerRepository.saveAll(customers));
+        List<Account> accounts = new ArrayList<>(ROWS);
+        for (Customer customer : customers) {
+            Account account = new Account();
+            account.setCustomerId(customer.getCustomerId());
+            account.setAccountNumber(AccountConstant.ACCOUNT_NUMBER_BASE + customer.getCustomerId());
+            account.setAccountType("Savings");
+            account.setBranchName("Bulevar Niza");
+            account.setAccountStatus(AccountConstant.ACCOUNT_STATUS);
+            accounts.add(account);
+        }
+        writeTemplate.executeWithoutResult(status -> accountRepository.saveAll(accounts));
+        firstCustomerId = customers.get(0).getCustomerId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponseDto getCustomerById() {
+        Long customerId = firstCustomerId + ThreadLocalRandom.current().nextInt(ROWS);
+        if ("projection".equals(readPath)) {
+            return transactionTemplate.execute(status -> customerRepository.findCustomerResponseById(customerId).orElseThrow());
+        }
+        return transactionTemplate.execute(status -> {
+            Customer customer = customerRepository.findById(customerId).orElseThrow();
+            Account account = accountRepository
+                    .findByCustomerIdAndAccountStatus(customerId, AccountConstant.ACCOUNT_STATUS)
+                    .orElse(null);
+            return account == null
+                    ? new CustomerResponseDto(customer.getCustomerId(), customer.getDocumentType(),
+                            customer.getDocumentNumber(), customer.getName(), customer.getEmail(),
+                            customer.getMobileNumber(), customer.getVersion(), customer.getUpdatedAt(),
+                            null, null, null, null, null, null, null)
+                    : new CustomerResponseDto(customer.getCustomerId(), customer.getDocumentType(),
+                            customer.getDocumentNumber(), customer.getName(), customer.getEmail(),
+                            customer.getMobileNumber(), customer.getVersion(), customer.getUpdatedAt(),
+                            account.getAccountId(), account.getAccountNumber(), account.getAccountType(),
+                            account.getBranchName(), account.getAccountStatus(), account.getVersion(),
+                            account.getUpdatedAt());
+        });
+    }
+}
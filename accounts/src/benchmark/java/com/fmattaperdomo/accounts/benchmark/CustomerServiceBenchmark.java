@@ -0,0 +1,70 @@
+package com.fmattaperdomo.accounts.benchmark;
+
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
+import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
+import com.fmattaperdomo.accounts.mapper.PageMapper;
+import com.fmattaperdomo.accounts.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls the CustomerService lookup and list paths through the Spring proxy, with its transactions, on
+ * a database seeded with rows customers. Each invocation picks a random customer so the results do not
+ * depend on the data being at the start of the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerServiceBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private long firstCustomerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start("customer-service-benchmark-" + rows);
+        firstCustomerId = BenchmarkData.seed(context, rows);
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponseDto getCustomerById() {
+        return customerService.getCustomerById(firstCustomerId + ThreadLocalRandom.current().nextInt(rows));
+    }
+
+    @Benchmark
+    public PageResponseDto<CustomerResponseDto> getCustomers() {
+        long after = firstCustomerId + ThreadLocalRandom.current().nextInt(rows - PAGE_SIZE);
+        return customerService.getCustomers(PageMapper.encodeCursor(after), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<CustomerResponseDto> getCustomersByNamePrefix() {
+        return customerService.getCustomersByName("Benchmark " + ThreadLocalRandom.current().nextInt(rows),
+                SearchMatchMode.PREFIX);
+    }
+
+    @Benchmark
+    public List<CustomerResponseDto> getCustomersByEmailContains() {
+        return customerService.getCustomersByEmail("ed" + ThreadLocalRandom.current().nextInt(rows) + "@",
+                SearchMatchMode.CONTAINS);
+    }
+}
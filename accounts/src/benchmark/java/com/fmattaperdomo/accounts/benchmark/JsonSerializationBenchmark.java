@@ -0,0 +1,70 @@
+package com.fmattaperdomo.accounts.benchmark;
+
+import com.fmattaperdomo.accounts.dto.CustomerRequestDto;
+import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the response bodies of GET /api/customers/{customerId} and of a page of GET /api/customers,
+ * and reads a POST /api/customers body, with a Jackson mapper and no Spring context. Run it with
+ * -prof gc to follow the bytes allocated per body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    private ObjectMapper objectMapper;
+    private CustomerResponseDto customer;
+    private PageResponseDto<CustomerResponseDto> page;
+    private byte[] customerRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        customer = customerResponseDto(1);
+        List<CustomerResponseDto> customers = new ArrayList<>(PAGE_SIZE);
+        for (int n = 1; n <= PAGE_SIZE; n++) {
+            customers.add(customerResponseDto(n));
+        }
+        page = new PageResponseDto<>(customers, PAGE_SIZE, "aWQ6NTA");
+        customerRequest = """
+                {"documentType":"CC","documentNumber":"11122233","name":"Cliente 1",\
+                "email":"cliente1@correo.com","mobileNumber":"1112223333"}"""
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static CustomerResponseDto customerResponseDto(long n) {
+        return new CustomerResponseDto(n, "CC", String.valueOf(11122233 + n), "Cliente " + n,
+                "cliente" + n + "@correo.com", String.valueOf(1112223333L + n), 0L, null, n, 1234567890L + n,
+                "Savings", "Main Branch", "Active", 0L, null);
+    }
+
+    @Benchmark
+    public byte[] writeCustomer() {
+        return objectMapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public byte[] writeCustomerPage() {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public CustomerRequestDto readCustomerRequest() {
+        return objectMapper.readValue(customerRequest, CustomerRequestDto.class);
+    }
+}
@@ -0,0 +1,40 @@
+package com.fmattaperdomo.accounts.config;
+
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "accounts.datasource.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceConfig {
+
+    /**
+     * Wraps the pool so that no more requests reach it than it has connections. With virtual threads any
+     * number of requests can be in flight; the gate keeps the surplus parked in the JVM instead of queued
+     * inside the pool. The pool size and connection timeout are reused as the permit count and wait limit.
+     * The export pool has its own size and is left alone.
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)
+                        && !AccountConstant.EXPORT_DATA_SOURCE.equals(beanName)) {
+                    int maxConcurrency = environment.getProperty(
+                            "spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                    long timeoutMillis = environment.getProperty(
+                            "spring.datasource.hikari.connection-timeout", Long.class, 30000L);
+                    return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, Duration.ofMillis(timeoutMillis));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.fmattaperdomo.accounts.config;
+
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExportDataSourceConfig {
+
+    /**
+     * Small pool of its own for the account export, which keeps its connection for as long as the client
+     * reads, up to spring.mvc.async.request-timeout. Its leak detection threshold sits above that, so the
+     * main pool keeps a threshold of a few seconds. It is not a default candidate, so the auto-configured
+     * pool stays the one JPA and every other query use.
+     */
+    @Bean(name = AccountConstant.EXPORT_DATA_SOURCE, defaultCandidate = false)
+    @ConfigurationProperties("accounts.export.datasource.hikari")
+    public HikariDataSource exportDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
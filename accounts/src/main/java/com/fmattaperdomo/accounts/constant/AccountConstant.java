@@ -12,7 +12,21 @@ public final class AccountConstant {
     public static final String  MESSAGE_201 = "Account created successfully";
     public static final String  STATUS_200 = "200";
     public static final String  MESSAGE_200 = "Request processed successfully";
+    public static final String  MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    public static final String  STATUS_400 = "400";
+    public static final String  STATUS_404 = "404";
+    public static final String  STATUS_409 = "409";
     public static final String  STATUS_417 = "417";
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
+    public static final String  CACHE_NAME = "accounts";
+    public static final int  EXPORT_FETCH_SIZE = 1000;
+    public static final String  READ_TIMEOUT_MILLIS = "2000";
+    public static final int  EXPORT_FLUSH_ROWS = 1000;
+    public static final String  EXPORT_DATA_SOURCE = "exportDataSource";
+    public static final String  ACCOUNT_NUMBER_SEQUENCE = "account_number_seq";
+    public static final int  ACCOUNT_NUMBER_BLOCK_SIZE = 1000;
+    public static final long  ACCOUNT_NUMBER_BASE = 100_000_000L;
+    public static final int  BULK_BATCH_SIZE = 1000;
+    public static final String  UK_ACTIVE_CUSTOMER = "uk_accounts_active_customer";
 }
@@ -10,7 +10,17 @@ public final class CustomerConstant {
     public static final String  MESSAGE_201 = "Customer created successfully";
     public static final String  STATUS_200 = "200";
     public static final String  MESSAGE_200 = "Request processed successfully";
+    public static final String  MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    public static final String  STATUS_400 = "400";
+    public static final String  STATUS_409 = "409";
     public static final String  STATUS_417 = "417";
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
+    public static final String  CACHE_NAME = "customers";
+    public static final int  LOOKUP_BATCH_SIZE = 1000;
+    public static final int  SEARCH_INDEX_REBUILD_PAGE_SIZE = 10000;
+    public static final int  BULK_BATCH_SIZE = 1000;
+    public static final String  UK_EMAIL = "uk_customers_email";
+    public static final String  UK_MOBILE_NUMBER = "uk_customers_mobile_number";
+    public static final String  UK_DOCUMENT_NUMBER = "uk_customers_document_number";
 }
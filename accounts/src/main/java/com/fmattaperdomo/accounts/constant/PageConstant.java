@@ -0,0 +1,11 @@
+package com.fmattaperdomo.accounts.constant;
+
+public final class PageConstant {
+    private PageConstant() {
+        // restrict instantiation
+    }
+
+    public static final String  DEFAULT_PAGE_SIZE = "50";
+    public static final int  MAX_PAGE_SIZE = 500;
+    public static final long  FIRST_PAGE_KEY = 0L;
+}
@@ -0,0 +1,37 @@
+package com.fmattaperdomo.accounts.constant;
+
+import java.util.Locale;
+
+/**
+ * How a search value is matched against a column. EXACT and PREFIX produce LIKE patterns without a
+ * leading wildcard, so they can be answered from an index; CONTAINS always scans. CONTAINS is the default
+ * because the search routes matched substrings before the mode existed.
+ */
+public enum SearchMatchMode {
+    EXACT,
+    PREFIX,
+    CONTAINS;
+
+    public static final String DEFAULT_VALUE = "CONTAINS";
+
+    private static final char ESCAPE = '\\';
+
+    /**
+     * @param value - Raw search value
+     * @return lower case LIKE pattern, with the LIKE wildcards of the value escaped with a backslash
+     */
+    public String toLikePattern(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 2);
+        for (char character : value.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (character == ESCAPE || character == '%' || character == '_') {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(character);
+        }
+        return switch (this) {
+            case EXACT -> escaped.toString();
+            case PREFIX -> escaped.append('%').toString();
+            case CONTAINS -> escaped.insert(0, '%').append('%').toString();
+        };
+    }
+}
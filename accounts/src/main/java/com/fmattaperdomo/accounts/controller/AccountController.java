@@ -1,6 +1,8 @@
 package com.fmattaperdomo.accounts.controller;
 
 import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.constant.PageConstant;
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
 import com.fmattaperdomo.accounts.dto.*;
 import com.fmattaperdomo.accounts.service.AccountService;
 import org.springframework.web.bind.annotation.RestController;
@@ -12,12 +14,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.JsonNode;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @Tag(
@@ -56,6 +63,50 @@ public class AccountController {
                 .status(HttpStatus.CREATED)
                 .body(new ResponseDto(AccountConstant.STATUS_201, AccountConstant.MESSAGE_201));
     }
+    @Operation(
+            summary = "Bulk Create Accounts REST API",
+            description = "REST API to open a JSON array of Accounts, reporting the outcome of every item"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping(path = "/accounts/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BulkResponseDto> createAccounts(@RequestBody List<AccountCreateRequestDto> accountCreateRequestDtos) {
+        BulkResponseDto bulkResponseDto = accountService.createAccounts(accountCreateRequestDtos);
+        return ResponseEntity.status(HttpStatus.OK).body(bulkResponseDto);
+    }
+    @Operation(
+            summary = "Bulk Create Accounts REST API",
+            description = "REST API to open Accounts sent as newline-delimited JSON, reporting the outcome of every line"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping(path = "/accounts/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResponseDto> importAccounts(InputStream accountsNdjson) {
+        BulkResponseDto bulkResponseDto = accountService.createAccounts(accountsNdjson);
+        return ResponseEntity.status(HttpStatus.OK).body(bulkResponseDto);
+    }
     @Operation(
             summary = "Fetch Account Details REST API",
             description = "REST API to fetch accounts  based on a customer id"
@@ -85,7 +136,7 @@ public class AccountController {
     }
     @Operation(
             summary = "Fetch Account Details REST API",
-            description = "REST API to fetch accounts  based on a branch name"
+            description = "REST API to fetch accounts  based on a branch name, matched EXACT, PREFIX or CONTAINS (default)"
     )
     @ApiResponses({
             @ApiResponse(
@@ -106,8 +157,10 @@ public class AccountController {
     })
     @GetMapping("/accounts/branchName/{branchName}")
     public ResponseEntity<List<AccountResponseDto>> getAccountsByBranchName(@PathVariable
-                                                                           String branchName) {
-        List<AccountResponseDto> accountsResponseDto = accountService.getAccountsByBranchName(branchName);
+                                                                           String branchName,
+                                                                           @RequestParam(defaultValue = SearchMatchMode.DEFAULT_VALUE)
+                                                                           SearchMatchMode match) {
+        List<AccountResponseDto> accountsResponseDto = accountService.getAccountsByBranchName(branchName, match);
         return ResponseEntity.status(HttpStatus.OK).body(accountsResponseDto);
     }
     @Operation(
@@ -133,8 +186,10 @@ public class AccountController {
     })
     @GetMapping("/accounts/accountType/{accountType}")
     public ResponseEntity<List<AccountResponseDto>> getAccountsByAccountType(@PathVariable
-                                                                            String accountType) {
-        List<AccountResponseDto> accountsResponseDto = accountService.getAccountsByAccountType(accountType);
+                                                                            String accountType,
+                                                                            @RequestParam(defaultValue = SearchMatchMode.DEFAULT_VALUE)
+                                                                            SearchMatchMode match) {
+        List<AccountResponseDto> accountsResponseDto = accountService.getAccountsByAccountType(accountType, match);
         return ResponseEntity.status(HttpStatus.OK).body(accountsResponseDto);
     }
     @Operation(
@@ -160,8 +215,10 @@ public class AccountController {
     })
     @GetMapping("/accounts/accountStatus/{accountStatus}")
     public ResponseEntity<List<AccountResponseDto>> getAccountsByAccountStatus(@PathVariable
-                                                                             String accountStatus) {
-        List<AccountResponseDto> accountsResponseDto = accountService.getAccountsByAccountStatus(accountStatus);
+                                                                             String accountStatus,
+                                                                             @RequestParam(defaultValue = SearchMatchMode.DEFAULT_VALUE)
+                                                                             SearchMatchMode match) {
+        List<AccountResponseDto> accountsResponseDto = accountService.getAccountsByAccountStatus(accountStatus, match);
         return ResponseEntity.status(HttpStatus.OK).body(accountsResponseDto);
     }
     @Operation(
@@ -173,6 +230,10 @@ public class AccountController {
                     responseCode = "200",
                     description = "HTTP Status OK"
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "HTTP Status Not Modified"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -183,20 +244,33 @@ public class AccountController {
     })
     @GetMapping("/accounts")
     public ResponseEntity<AccountResponseDto> getAccountByCustomerId(@RequestParam
-                                                                      Long customerId) {
+                                                                      Long customerId, WebRequest webRequest) {
+        if (EntityTags.isConditional(webRequest)) {
+            // the versions alone decide the 304, the body is read only when the client copy is stale
+            return accountService.getAccountByCustomerIdIfModified(customerId,
+                    version -> webRequest.checkNotModified(EntityTags.of(version), EntityTags.lastModified(version)))
+                    .map(body -> ResponseEntity.status(HttpStatus.OK).body(body))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        }
         AccountResponseDto accountResponseDto = accountService.getAccountByCustomerId(customerId);
+        // checkNotModified also writes the ETag and Last-Modified headers of the 200 response
+        webRequest.checkNotModified(EntityTags.of(accountResponseDto), EntityTags.lastModified(accountResponseDto));
         return ResponseEntity.status(HttpStatus.OK).body(accountResponseDto);
     }
 
     @Operation(
             summary = "Fetch Account Details REST API",
-            description = "REST API to fetch Accounts  "
+            description = "REST API to fetch Accounts one page at a time, following the next cursor"
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "HTTP Status OK"
             ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status Bad Request"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -206,11 +280,39 @@ public class AccountController {
             )
     })
     @GetMapping("/accounts/all")
-    public ResponseEntity<List<AccountResponseDto>> getAccounts() {
-        List<AccountResponseDto> accountsResponseDto = accountService.getAccounts();
+    public ResponseEntity<PageResponseDto<AccountResponseDto>> getAccounts(@RequestParam(required = false)
+                                                                           String cursor,
+                                                                           @RequestParam(defaultValue = PageConstant.DEFAULT_PAGE_SIZE)
+                                                                           int size) {
+        PageResponseDto<AccountResponseDto> accountsResponseDto = accountService.getAccounts(cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(accountsResponseDto);
     }
 
+    @Operation(
+            summary = "Export Accounts REST API",
+            description = "REST API to stream every Account as newline-delimited JSON"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping(path = "/accounts/export", produces = {MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportAccounts() {
+        StreamingResponseBody accountsExport = outputStream -> accountService.exportAccounts(outputStream);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(accountsExport);
+    }
+
     @Operation(
             summary = "Update Account Details REST API",
             description = "REST API to update Account details based on a account id"
@@ -224,6 +326,13 @@ public class AccountController {
                     responseCode = "417",
                     description = "Expectation Failed"
             ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "HTTP Status Precondition Failed",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -235,8 +344,53 @@ public class AccountController {
     )
     @PutMapping("/accounts/{accountId}")
     public ResponseEntity<ResponseDto> updateAccount(@Valid @RequestBody AccountUpdateRequestDto accountUpdateRequestDto, @PathVariable
-    Long accountId) {
-        boolean isUpdated = accountService.updateAccount(accountUpdateRequestDto,accountId);
+    Long accountId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean isUpdated = accountService.updateAccount(accountUpdateRequestDto,accountId, EntityTags.expectedVersion(ifMatch, accountId));
+        if(isUpdated) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(new ResponseDto(AccountConstant.STATUS_200, AccountConstant.MESSAGE_200));
+        }else{
+            return ResponseEntity
+                    .status(HttpStatus.EXPECTATION_FAILED)
+                    .body(new ResponseDto(AccountConstant.STATUS_417, AccountConstant.MESSAGE_417_UPDATE));
+        }
+    }
+    @Operation(
+            summary = "Patch Account Details REST API",
+            description = "REST API to change only the Account fields present in a JSON Merge Patch document"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status Bad Request",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "HTTP Status Precondition Failed",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PatchMapping(path = "/accounts/{accountId}", consumes = {AccountConstant.MERGE_PATCH_JSON_VALUE})
+    public ResponseEntity<ResponseDto> patchAccount(@RequestBody JsonNode patch, @PathVariable Long accountId,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean isUpdated = accountService.patchAccount(accountId, patch, EntityTags.expectedVersion(ifMatch, accountId));
         if(isUpdated) {
             return ResponseEntity
                     .status(HttpStatus.OK)
@@ -247,6 +401,33 @@ public class AccountController {
                     .body(new ResponseDto(AccountConstant.STATUS_417, AccountConstant.MESSAGE_417_UPDATE));
         }
     }
+    @Operation(
+            summary = "Bulk Account Status REST API",
+            description = "REST API to move every Account matching a branch name, account type or id list to a new status"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status Bad Request"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PatchMapping("/accounts/status")
+    public ResponseEntity<AccountStatusUpdateResponseDto> updateAccountStatus(
+            @Valid @RequestBody AccountStatusUpdateRequestDto accountStatusUpdateRequestDto) {
+        AccountStatusUpdateResponseDto accountStatusUpdateResponseDto = accountService.updateAccountStatus(accountStatusUpdateRequestDto);
+        return ResponseEntity.status(HttpStatus.OK).body(accountStatusUpdateResponseDto);
+    }
     @Operation(
             summary = "Delete Account  Details REST API",
             description = "REST API to delete Account details based on a account id"
@@ -1,6 +1,8 @@
 package com.fmattaperdomo.accounts.controller;
 
 import com.fmattaperdomo.accounts.constant.CustomerConstant;
+import com.fmattaperdomo.accounts.constant.PageConstant;
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
 import com.fmattaperdomo.accounts.dto.*;
 import com.fmattaperdomo.accounts.service.CustomerService;
 import org.springframework.web.bind.annotation.RestController;
@@ -12,13 +14,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.JsonNode;
 import jakarta.validation.constraints.Pattern;
 
+import java.io.InputStream;
 import java.util.List;
 
 @Tag(
@@ -57,6 +63,50 @@ public class CustomerController {
                 .status(HttpStatus.CREATED)
                 .body(new ResponseDto(CustomerConstant.STATUS_201, CustomerConstant.MESSAGE_201));
     }
+    @Operation(
+            summary = "Bulk Create Customers REST API",
+            description = "REST API to create a JSON array of Customers, reporting the outcome of every item"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping(path = "/customers/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BulkResponseDto> createCustomers(@RequestBody List<CustomerRequestDto> customerRequestDtos) {
+        BulkResponseDto bulkResponseDto = customerService.createCustomers(customerRequestDtos);
+        return ResponseEntity.status(HttpStatus.OK).body(bulkResponseDto);
+    }
+    @Operation(
+            summary = "Bulk Create Customers REST API",
+            description = "REST API to create Customers sent as newline-delimited JSON, reporting the outcome of every line"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping(path = "/customers/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResponseDto> importCustomers(InputStream customersNdjson) {
+        BulkResponseDto bulkResponseDto = customerService.createCustomers(customersNdjson);
+        return ResponseEntity.status(HttpStatus.OK).body(bulkResponseDto);
+    }
     @Operation(
             summary = "Fetch Customer Details REST API",
             description = "REST API to fetch customer  based on a customer id"
@@ -66,6 +116,10 @@ public class CustomerController {
                     responseCode = "200",
                     description = "HTTP Status OK"
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "HTTP Status Not Modified"
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "HTTP Status Not Found"
@@ -80,13 +134,22 @@ public class CustomerController {
     })
     @GetMapping("/customers/{customerId}")
     public ResponseEntity<CustomerResponseDto> getCustomerById(@PathVariable
-                                                                            Long customerId) {
+                                                                            Long customerId, WebRequest webRequest) {
+        if (EntityTags.isConditional(webRequest)) {
+            // the versions alone decide the 304, the body is read only when the client copy is stale
+            return customerService.getCustomerByIdIfModified(customerId,
+                    versions -> webRequest.checkNotModified(EntityTags.of(versions), EntityTags.lastModified(versions)))
+                    .map(body -> ResponseEntity.status(HttpStatus.OK).body(body))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        }
         CustomerResponseDto customerResponseDto = customerService.getCustomerById(customerId);
+        // checkNotModified also writes the ETag and Last-Modified headers of the 200 response
+        webRequest.checkNotModified(EntityTags.of(customerResponseDto), EntityTags.lastModified(customerResponseDto));
         return ResponseEntity.status(HttpStatus.OK).body(customerResponseDto);
     }
     @Operation(
             summary = "Fetch Customer Details REST API",
-            description = "REST API to fetch customer  based on a mobile number"
+            description = "REST API to fetch customer  based on a mobile number, matched EXACT, PREFIX or CONTAINS (default)"
     )
     @ApiResponses({
             @ApiResponse(
@@ -103,13 +166,15 @@ public class CustomerController {
     })
     @GetMapping("/customers/mobileNumber/{mobileNumber}")
     public ResponseEntity<List<CustomerResponseDto>> getCustomersByMobileNumber(@PathVariable
-                                                                             String mobileNumber) {
-        List<CustomerResponseDto> customersResponseDto = customerService.getCustomersByMobileNumber(mobileNumber);
+                                                                             String mobileNumber,
+                                                                             @RequestParam(defaultValue = SearchMatchMode.DEFAULT_VALUE)
+                                                                             SearchMatchMode match) {
+        List<CustomerResponseDto> customersResponseDto = customerService.getCustomersByMobileNumber(mobileNumber, match);
         return ResponseEntity.status(HttpStatus.OK).body(customersResponseDto);
     }
     @Operation(
             summary = "Fetch Customer Details REST API",
-            description = "REST API to fetch customer  based on a email"
+            description = "REST API to fetch customer  based on a email, matched EXACT, PREFIX or CONTAINS (default)"
     )
     @ApiResponses({
             @ApiResponse(
@@ -126,8 +191,10 @@ public class CustomerController {
     })
     @GetMapping("/customers/email/{email}")
     public ResponseEntity<List<CustomerResponseDto>> getCustomersByEmail(@PathVariable
-                                                                  String email) {
-        List<CustomerResponseDto> customersResponseDto = customerService.getCustomersByEmail(email);
+                                                                  String email,
+                                                                  @RequestParam(defaultValue = SearchMatchMode.DEFAULT_VALUE)
+                                                                  SearchMatchMode match) {
+        List<CustomerResponseDto> customersResponseDto = customerService.getCustomersByEmail(email, match);
         return ResponseEntity.status(HttpStatus.OK).body(customersResponseDto);
     }
     @ApiResponses({
@@ -145,19 +212,25 @@ public class CustomerController {
     })
     @GetMapping("/customers/name/{name}")
     public ResponseEntity<List<CustomerResponseDto>> getCustomersByName(@PathVariable
-                                                                         String name) {
-        List<CustomerResponseDto> customersResponseDto = customerService.getCustomersByName(name);
+                                                                         String name,
+                                                                         @RequestParam(defaultValue = SearchMatchMode.DEFAULT_VALUE)
+                                                                         SearchMatchMode match) {
+        List<CustomerResponseDto> customersResponseDto = customerService.getCustomersByName(name, match);
         return ResponseEntity.status(HttpStatus.OK).body(customersResponseDto);
     }
     @Operation(
             summary = "Fetch Customer Details REST API",
-            description = "REST API to fetch Customers  "
+            description = "REST API to fetch Customers one page at a time, following the next cursor"
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "HTTP Status OK"
             ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status Bad Request"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -167,8 +240,11 @@ public class CustomerController {
             )
     })
     @GetMapping("/customers")
-    public ResponseEntity<List<CustomerResponseDto>> getCustomers() {
-        List<CustomerResponseDto> customersResponseDto = customerService.getCustomers();
+    public ResponseEntity<PageResponseDto<CustomerResponseDto>> getCustomers(@RequestParam(required = false)
+                                                                             String cursor,
+                                                                             @RequestParam(defaultValue = PageConstant.DEFAULT_PAGE_SIZE)
+                                                                             int size) {
+        PageResponseDto<CustomerResponseDto> customersResponseDto = customerService.getCustomers(cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(customersResponseDto);
     }
     @Operation(
@@ -180,6 +256,13 @@ public class CustomerController {
                     responseCode = "200",
                     description = "HTTP Status OK"
             ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "HTTP Status Precondition Failed",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
@@ -190,8 +273,53 @@ public class CustomerController {
     })
     @PutMapping("/customers/{customerId}")
     public ResponseEntity<ResponseDto> updateCustomer(@Valid @RequestBody CustomerRequestDto customerRequestDto, @PathVariable
-    Long customerId) {
-        boolean isUpdated = customerService.updateCustomer(customerRequestDto,customerId);
+    Long customerId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean isUpdated = customerService.updateCustomer(customerRequestDto,customerId, EntityTags.expectedVersion(ifMatch, customerId));
+        if(isUpdated) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(new ResponseDto(CustomerConstant.STATUS_200, CustomerConstant.MESSAGE_200));
+        }else{
+            return ResponseEntity
+                    .status(HttpStatus.EXPECTATION_FAILED)
+                    .body(new ResponseDto(CustomerConstant.STATUS_417, CustomerConstant.MESSAGE_417_UPDATE));
+        }
+    }
+    @Operation(
+            summary = "Patch Customer Details REST API",
+            description = "REST API to change only the Customer fields present in a JSON Merge Patch document"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status Bad Request",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "HTTP Status Precondition Failed",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PatchMapping(path = "/customers/{customerId}", consumes = {CustomerConstant.MERGE_PATCH_JSON_VALUE})
+    public ResponseEntity<ResponseDto> patchCustomer(@RequestBody JsonNode patch, @PathVariable Long customerId,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean isUpdated = customerService.patchCustomer(customerId, patch, EntityTags.expectedVersion(ifMatch, customerId));
         if(isUpdated) {
             return ResponseEntity
                     .status(HttpStatus.OK)
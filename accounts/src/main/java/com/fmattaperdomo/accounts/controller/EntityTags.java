@@ -0,0 +1,160 @@
+package com.fmattaperdomo.accounts.controller;
+
+import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.dto.CustomerVersionsDto;
+import com.fmattaperdomo.accounts.dto.VersionDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneId;
+
+/**
+ * Strong entity tags built from the id and @Version of the entities in the response body, the updated
+ * entity first: {@code "<customerId>.<version>-<accountId>.<accountVersion>"}. The ids keep a tag from
+ * matching a different entity that happens to be at the same version, such as a newly opened account.
+ * Tags and Last-Modified are computed the same way from a response body and from a versions-only read, so
+ * a 304 can be decided without loading the body.
+ */
+final class EntityTags {
+    private static final String ANY = "*";
+    private static final String ENTITY_SEPARATOR = "-";
+    private static final String VERSION_SEPARATOR = ".";
+
+    private EntityTags() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param customerResponseDto - body of the response
+     * @return quoted entity tag of the customer and of its active account, if it has one
+     */
+    static String of(CustomerResponseDto customerResponseDto) {
+        return of(versionsOf(customerResponseDto));
+    }
+
+    /**
+     * @param customerVersionsDto - versions of the customer and of its active account
+     * @return quoted entity tag of the customer and of its active account, if it has one
+     */
+    static String of(CustomerVersionsDto customerVersionsDto) {
+        StringBuilder tag = new StringBuilder("\"").append(tagOf(customerVersionsDto.getCustomer()));
+        if (customerVersionsDto.getAccount() != null) {
+            tag.append(ENTITY_SEPARATOR).append(tagOf(customerVersionsDto.getAccount()));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * @param accountResponseDto - body of the response
+     * @return quoted entity tag of the account
+     */
+    static String of(AccountResponseDto accountResponseDto) {
+        return of(versionOf(accountResponseDto));
+    }
+
+    /**
+     * @param versionDto - version of the account
+     * @return quoted entity tag of the account
+     */
+    static String of(VersionDto versionDto) {
+        return "\"" + tagOf(versionDto) + "\"";
+    }
+
+    /**
+     * @param customerResponseDto - body of the response
+     * @return latest modification of the customer and of its active account in epoch milliseconds, -1 when unknown
+     */
+    static long lastModified(CustomerResponseDto customerResponseDto) {
+        return lastModified(versionsOf(customerResponseDto));
+    }
+
+    /**
+     * @param customerVersionsDto - versions of the customer and of its active account
+     * @return latest modification of the customer and of its active account in epoch milliseconds, -1 when unknown
+     */
+    static long lastModified(CustomerVersionsDto customerVersionsDto) {
+        long customerLastModified = lastModified(customerVersionsDto.getCustomer());
+        return customerVersionsDto.getAccount() == null ? customerLastModified
+                : Math.max(customerLastModified, lastModified(customerVersionsDto.getAccount()));
+    }
+
+    /**
+     * @param accountResponseDto - body of the response
+     * @return last modification of the account in epoch milliseconds, -1 when unknown
+     */
+    static long lastModified(AccountResponseDto accountResponseDto) {
+        return lastModified(versionOf(accountResponseDto));
+    }
+
+    /**
+     * @param versionDto - version of the account
+     * @return last modification of the account in epoch milliseconds, -1 when unknown
+     */
+    static long lastModified(VersionDto versionDto) {
+        return versionDto.getLastModified() == null ? -1
+                : versionDto.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * @param webRequest - current request
+     * @return true when the request carries If-None-Match or If-Modified-Since
+     */
+    static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static String tagOf(VersionDto versionDto) {
+        return versionDto.getEntityId() + VERSION_SEPARATOR + versionDto.getVersion();
+    }
+
+    private static CustomerVersionsDto versionsOf(CustomerResponseDto customerResponseDto) {
+        AccountResponseDto accountResponseDto = customerResponseDto.getAccountResponseDto();
+        boolean hasAccount = accountResponseDto != null && accountResponseDto.getAccountId() != null;
+        return new CustomerVersionsDto(customerResponseDto.getCustomerId(), customerResponseDto.getVersion(),
+                customerResponseDto.getLastModified(),
+                hasAccount ? accountResponseDto.getAccountId() : null,
+                hasAccount ? accountResponseDto.getVersion() : null,
+                hasAccount ? accountResponseDto.getLastModified() : null);
+    }
+
+    private static VersionDto versionOf(AccountResponseDto accountResponseDto) {
+        return new VersionDto(accountResponseDto.getAccountId(), accountResponseDto.getVersion(),
+                accountResponseDto.getLastModified());
+    }
+
+    /**
+     * @param ifMatch - If-Match header, may be null
+     * @param entityId - id of the entity being updated
+     * @return version the client expects, null when the update is unconditional
+     */
+    static Long expectedVersion(String ifMatch, Long entityId) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("\"") && tag.endsWith("\"") && tag.length() > 1) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        // a tag joining several entities starts with the updated entity
+        int separator = tag.indexOf(ENTITY_SEPARATOR);
+        if (separator > 0) {
+            tag = tag.substring(0, separator);
+        }
+        try {
+            int versionSeparator = tag.indexOf(VERSION_SEPARATOR);
+            if (versionSeparator < 0) {
+                return Long.valueOf(tag);
+            }
+            if (!Long.valueOf(tag.substring(0, versionSeparator)).equals(entityId)) {
+                // the tag of another entity never matches
+                return -1L;
+            }
+            return Long.valueOf(tag.substring(versionSeparator + 1));
+        } catch (NumberFormatException exception) {
+            // weak or foreign tags never match a current version
+            return -1L;
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package com.fmattaperdomo.accounts.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data @AllArgsConstructor @NoArgsConstructor
+import java.time.LocalDateTime;
+
+@Value
 @Schema(
         name = "AccountResponse",
         description = "Schema to hold account response information"
 )
 public class AccountResponseDto {
+    /**
+     * Stands in for a customer without an active account; immutable, so a single instance is shared.
+     */
+    public static final AccountResponseDto NONE = new AccountResponseDto(null, null, null, null, null, null, null, null, null);
+
     @Schema(
             description = "Account ID in the response"
     )
@@ -39,4 +45,14 @@ public class AccountResponseDto {
             description = "Customer name in the response"
     )
     private String customerName;
+    @Schema(
+            description = "Version of the account, send it back in If-Match to update it"
+    )
+    private Long version;
+    /**
+     * Sent as the Last-Modified header rather than in the body.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private LocalDateTime lastModified;
 }
@@ -0,0 +1,58 @@
+package com.fmattaperdomo.accounts.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "AccountStatusUpdate",
+        description = "Schema to hold a status transition applied to every Account matching the filter"
+)
+public class AccountStatusUpdateRequestDto {
+    @NotEmpty(message = "Account status can not be a null or empty")
+    @Size(min = 5, max = 10, message = "The length of the account status should be between 5 and 10")
+    @Schema(
+            description = "New account status", example = "Inactive"
+    )
+    private String accountStatus;
+    @Schema(
+            description = "Only accounts of this branch", example = "Castellana"
+    )
+    private String branchName;
+    @Schema(
+            description = "Only accounts of this type", example = "Savings"
+    )
+    private String accountType;
+    @Size(max = 1000, message = "At most 1000 account ids can be given")
+    @Schema(
+            description = "Only these accounts"
+    )
+    private List<Long> accountIds;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "At least one of branchName, accountType or accountIds must be given")
+    public boolean isFilterPresent() {
+        return branchName != null || accountType != null || (accountIds != null && !accountIds.isEmpty());
+    }
+
+    /*
+     * A customer may have a single active account, so a bulk activation would collide with the active account
+     * of any matching customer; accounts are activated one at a time through the account update.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "Accounts can not be moved to " + AccountConstant.ACCOUNT_STATUS + " in bulk")
+    public boolean isTargetStatusAllowed() {
+        return !AccountConstant.ACCOUNT_STATUS.equals(accountStatus);
+    }
+}
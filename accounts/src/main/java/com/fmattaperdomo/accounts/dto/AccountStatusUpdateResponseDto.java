@@ -0,0 +1,22 @@
+package com.fmattaperdomo.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "AccountStatusUpdateResponse",
+        description = "Schema to hold the outcome of a bulk status transition"
+)
+public class AccountStatusUpdateResponseDto {
+    @Schema(
+            description = "Number of accounts moved to the new status"
+    )
+    private int updated;
+    @Schema(
+            description = "Number of distinct customers owning the updated accounts"
+    )
+    private int customers;
+}
@@ -0,0 +1,30 @@
+package com.fmattaperdomo.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "BulkItemResult",
+        description = "Schema to hold the outcome of one item of a bulk request"
+)
+public class BulkItemResultDto {
+    @Schema(
+            description = "Zero based position of the item in the request", example = "0"
+    )
+    private int index;
+    @Schema(
+            description = "Status code of the item", example = "201 OR 400 OR 409"
+    )
+    private String statusCode;
+    @Schema(
+            description = "Id of the created resource, null when the item was rejected"
+    )
+    private Long id;
+    @Schema(
+            description = "Status message of the item"
+    )
+    private String statusMsg;
+}
@@ -0,0 +1,28 @@
+package com.fmattaperdomo.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "BulkResponse",
+        description = "Schema to hold the per item outcome of a bulk request"
+)
+public class BulkResponseDto {
+    @Schema(
+            description = "Number of items created"
+    )
+    private int created;
+    @Schema(
+            description = "Number of items rejected"
+    )
+    private int rejected;
+    @Schema(
+            description = "Outcome of every item, in request order"
+    )
+    private List<BulkItemResultDto> results;
+}
@@ -1,11 +1,15 @@
 package com.fmattaperdomo.accounts.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data @AllArgsConstructor @NoArgsConstructor
+import java.time.LocalDateTime;
+
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Schema(
         name = "CustomerResponse",
         description = "Schema to hold customer response information"
@@ -39,4 +43,29 @@ public class CustomerResponseDto {
             description = "Account details of the Customer"
     )
     private AccountResponseDto accountResponseDto;
+    @Schema(
+            description = "Version of the customer, send it back in If-Match to update it"
+    )
+    private Long version;
+    /**
+     * Last modification of the customer, sent as the Last-Modified header rather than in the body.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private LocalDateTime lastModified;
+
+    /**
+     * Row of CustomerRepository.CUSTOMER_RESPONSE_SELECT, the account columns are null when the
+     * customer has no active account.
+     */
+    public CustomerResponseDto(Long customerId, String documentType, String documentNumber, String name,
+                               String email, String mobileNumber, Long version, LocalDateTime lastModified,
+                               Long accountId, Long accountNumber, String accountType, String branchName,
+                               String accountStatus, Long accountVersion, LocalDateTime accountLastModified) {
+        this(customerId, documentType, documentNumber, name, email, mobileNumber,
+                accountId == null ? AccountResponseDto.NONE
+                        : new AccountResponseDto(accountId, customerId, accountNumber, accountType, branchName,
+                                accountStatus, null, accountVersion, accountLastModified),
+                version, lastModified);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.fmattaperdomo.accounts.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versions of a customer and of its active account, read together in one joined query.
+ */
+@Value
+public class CustomerVersionsDto {
+    private VersionDto customer;
+    /**
+     * Null when the customer has no active account.
+     */
+    private VersionDto account;
+
+    /**
+     * Row of CustomerRepository.findVersionsByCustomerId, the account columns are null when the customer
+     * has no active account.
+     */
+    public CustomerVersionsDto(Long customerId, Long version, LocalDateTime lastModified,
+                               Long accountId, Long accountVersion, LocalDateTime accountLastModified) {
+        this.customer = new VersionDto(customerId, version, lastModified);
+        this.account = accountId == null ? null : new VersionDto(accountId, accountVersion, accountLastModified);
+    }
+}
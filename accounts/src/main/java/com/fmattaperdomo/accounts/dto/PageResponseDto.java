@@ -0,0 +1,28 @@
+package com.fmattaperdomo.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+@Schema(
+        name = "PageResponse",
+        description = "Schema to hold a page of results and the cursor of the next page"
+)
+public class PageResponseDto<T> {
+    @Schema(
+            description = "Items of the page in the response"
+    )
+    private List<T> content;
+    @Schema(
+            description = "Number of items of the page in the response"
+    )
+    private int size;
+    @Schema(
+            description = "Opaque cursor of the next page, null when there are no more items"
+    )
+    private String next;
+}
@@ -0,0 +1,15 @@
+package com.fmattaperdomo.accounts.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id, version and last modification time of an entity, read without loading the entity itself.
+ */
+@Value
+public class VersionDto {
+    private Long entityId;
+    private Long version;
+    private LocalDateTime lastModified;
+}
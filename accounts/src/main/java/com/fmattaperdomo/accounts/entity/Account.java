@@ -2,18 +2,33 @@ package com.fmattaperdomo.accounts.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
+/*
+ * A customer can hold a single Active account. JPA can not declare that partial uniqueness, so it lives
+ * in schema.sql (unique generated column) and schema-postgresql.sql (partial unique index), both named
+ * uk_accounts_active_customer.
+ */
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_accounts_account_number", columnNames = "account_number")
+}, indexes = {
+        @Index(name = "idx_accounts_customer_status", columnList = "customer_id, account_status"),
+        @Index(name = "idx_accounts_branch_name", columnList = "branch_name"),
+        @Index(name = "idx_accounts_account_type", columnList = "account_type"),
+        @Index(name = "idx_accounts_account_status", columnList = "account_status")
+})
+@DynamicUpdate
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class Account extends  BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     @Column(name="account_id")
     private Long accountId;
     @Column(name="customer_id")
     private Long customerId;
-    @Column(name="account_number")
+    @Column(name="account_number", nullable = false)
     private Long accountNumber;
     @Column(name="account_type")
     private String accountType;
@@ -3,6 +3,7 @@ package com.fmattaperdomo.accounts.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -34,4 +35,8 @@ public class BaseEntity {
     @LastModifiedBy
     @Column(name="updated_by", insertable = false)
     private String updatedBy;
+
+    @Version
+    @Column(name="version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
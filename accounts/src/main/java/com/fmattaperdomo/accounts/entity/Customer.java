@@ -2,13 +2,22 @@ package com.fmattaperdomo.accounts.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_customers_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_customers_mobile_number", columnNames = "mobile_number"),
+        @UniqueConstraint(name = "uk_customers_document_number", columnNames = "document_number")
+}, indexes = {
+        @Index(name = "idx_customers_name", columnList = "name")
+})
+@DynamicUpdate
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class Customer extends  BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
     @Column(name="customer_id")
     private Long customerId;
     @Column(name="document_type")
@@ -0,0 +1,9 @@
+package com.fmattaperdomo.accounts.event;
+
+/**
+ * Published when an account is created, updated or deleted.
+ *
+ * @param customerId - id of the customer owning the changed account
+ */
+public record AccountChangedEvent(Long customerId) {
+}
@@ -0,0 +1,40 @@
+package com.fmattaperdomo.accounts.event;
+
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.constant.CustomerConstant;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts the cached customer and active account views of a customer once the change that made them
+ * stale has been committed. A read that missed the cache before the commit may still have loaded the old
+ * state; the cached reads are {@code @Cacheable(sync = true)}, so that load runs inside the Caffeine entry
+ * computation and the eviction waits for it and then removes what it stored.
+ */
+@Component
+@AllArgsConstructor
+public class CacheEvictionListener {
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        evict(event.customerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        evict(event.customerId());
+    }
+
+    private void evict(Long customerId) {
+        for (String cacheName : new String[]{CustomerConstant.CACHE_NAME, AccountConstant.CACHE_NAME}) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(customerId);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.fmattaperdomo.accounts.event;
+
+import com.fmattaperdomo.accounts.entity.Customer;
+
+/**
+ * Published when a customer is created, updated or deleted.
+ *
+ * @param customerId - id of the changed customer
+ * @param customer - state of the customer after the change, null when it was deleted
+ */
+public record CustomerChangedEvent(Long customerId, Customer customer) {
+
+    public boolean isDeleted() {
+        return customer == null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.fmattaperdomo.accounts.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+public final class ConstraintViolations {
+    private ConstraintViolations() {
+        // restrict instantiation
+    }
+
+    /**
+     * Databases report constraint names differently (H2 upper cases and qualifies them), so the name
+     * is matched ignoring case, falling back to the driver message when Hibernate could not extract it.
+     *
+     * @param exception - violation raised by a write
+     * @param constraintName - name of the constraint as declared in the schema
+     * @return whether the violation was raised by the given constraint
+     */
+    public static boolean isViolationOf(DataIntegrityViolationException exception, String constraintName) {
+        String expected = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(expected);
+            }
+        }
+        String message = exception.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(expected);
+    }
+}
@@ -1,10 +1,16 @@
 package com.fmattaperdomo.accounts.exception;
 
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.constant.CustomerConstant;
 import com.fmattaperdomo.accounts.dto.ErrorResponseDto;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -20,6 +26,11 @@ import java.util.Map;
 
 @ControllerAdvice
 public class GlobalExceptionHandler  extends ResponseEntityExceptionHandler {
+    private static final Map<String, String> CONSTRAINT_MESSAGES = Map.of(
+            CustomerConstant.UK_EMAIL, "Customer already registered with given email",
+            CustomerConstant.UK_MOBILE_NUMBER, "Customer already registered with given mobile number",
+            CustomerConstant.UK_DOCUMENT_NUMBER, "Customer already registered with given document number",
+            AccountConstant.UK_ACTIVE_CUSTOMER, "Account already registered with given customer id");
 
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
@@ -83,4 +94,83 @@ public class GlobalExceptionHandler  extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
     }
 
+    /*
+     * Writes that lose a race against a concurrent insert are rejected by the unique constraints;
+     * they get the same response as the already-exists checks of the services.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponseDto> handleDataIntegrityViolationException(DataIntegrityViolationException exception,
+                                                                                  WebRequest webRequest){
+        String message = CONSTRAINT_MESSAGES.entrySet().stream()
+                .filter(entry -> ConstraintViolations.isViolationOf(exception, entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+        if (message == null) {
+            return handleGlobalException(exception, webRequest);
+        }
+        ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
+                webRequest.getDescription(false),
+                HttpStatus.BAD_REQUEST,
+                message,
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
+    }
+
+    /*
+     * An If-Match that no longer matches, or a concurrent writer that committed first (@Version check at flush).
+     */
+    @ExceptionHandler({PreconditionFailedException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponseDto> handlePreconditionFailedException(RuntimeException exception,
+                                                                              WebRequest webRequest){
+        ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
+                webRequest.getDescription(false),
+                HttpStatus.PRECONDITION_FAILED,
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidPatchException(InvalidPatchException exception,
+                                                                        WebRequest webRequest){
+        ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
+                webRequest.getDescription(false),
+                HttpStatus.BAD_REQUEST,
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidCursorException(InvalidCursorException exception,
+                                                                         WebRequest webRequest){
+        ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
+                webRequest.getDescription(false),
+                HttpStatus.BAD_REQUEST,
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
+    }
+
+    /*
+     * No database connection within the connection timeout, or a read over its query timeout: the database
+     * is saturated and the caller may retry.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponseDto> handleServiceUnavailableException(RuntimeException exception,
+                                                                              WebRequest webRequest){
+        ErrorResponseDto errorResponseDTO = new ErrorResponseDto(
+                webRequest.getDescription(false),
+                HttpStatus.SERVICE_UNAVAILABLE,
+                exception.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
 }
\ No newline at end of file
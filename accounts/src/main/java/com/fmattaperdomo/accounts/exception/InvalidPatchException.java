@@ -0,0 +1,13 @@
+package com.fmattaperdomo.accounts.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidPatchException extends RuntimeException {
+
+    public InvalidPatchException(String reason) {
+        super(String.format("Invalid merge patch: %s", reason));
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.fmattaperdomo.accounts.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String resourceName, String fieldName, String fieldValue) {
+        super(String.format("%s with the given input data %s : '%s' was modified by another request, reload it and retry",
+                resourceName, fieldName, fieldValue));
+    }
+}
@@ -0,0 +1,61 @@
+package com.fmattaperdomo.accounts.mapper;
+
+import com.fmattaperdomo.accounts.constant.PageConstant;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
+import com.fmattaperdomo.accounts.exception.InvalidCursorException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination helpers. A cursor is the opaque encoding of the last id of the previous page,
+ * so the next page is read with an {@code id > cursor} seek predicate instead of an OFFSET.
+ */
+public class PageMapper {
+    private static final String CURSOR_PREFIX = "id:";
+
+    public static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return PageConstant.FIRST_PAGE_KEY;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new InvalidCursorException(cursor);
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * @param size - requested page size
+     * @return a request for one row more than the page size, used to detect whether a next page exists
+     */
+    public static Pageable toLookAheadPageable(int size) {
+        return PageRequest.of(0, pageSize(size) + 1);
+    }
+
+    public static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), PageConstant.MAX_PAGE_SIZE);
+    }
+
+    public static <T> PageResponseDto<T> mapToPageResponseDto(List<T> rows, int size, Function<T, Long> keyExtractor) {
+        int pageSize = pageSize(size);
+        if (rows.size() <= pageSize) {
+            return new PageResponseDto<>(rows, rows.size(), null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new PageResponseDto<>(content, pageSize, encodeCursor(keyExtractor.apply(content.get(pageSize - 1))));
+    }
+}
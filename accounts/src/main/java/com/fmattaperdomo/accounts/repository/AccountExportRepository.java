@@ -0,0 +1,13 @@
+package com.fmattaperdomo.accounts.repository;
+
+import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+
+import java.util.stream.Stream;
+
+public interface AccountExportRepository {
+    /**
+     * Forward-only cursor over every account joined with the name of its customer, read through the export
+     * pool. The caller must close the stream to return the connection.
+     */
+    Stream<AccountResponseDto> streamAllAccountResponses();
+}
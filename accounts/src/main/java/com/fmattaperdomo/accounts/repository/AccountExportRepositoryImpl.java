@@ -0,0 +1,47 @@
+package com.fmattaperdomo.accounts.repository;
+
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.stream.Stream;
+
+class AccountExportRepositoryImpl implements AccountExportRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DataSource exportDataSource;
+
+    AccountExportRepositoryImpl(@Qualifier(AccountConstant.EXPORT_DATA_SOURCE) DataSource exportDataSource) {
+        this.exportDataSource = exportDataSource;
+    }
+
+    /*
+     * The query runs in a stateless session opened on a connection of the export pool, so the main pool
+     * lends no connection for as long as the client takes to read the export.
+     */
+    @Override
+    public Stream<AccountResponseDto> streamAllAccountResponses() {
+        Connection connection = DataSourceUtils.getConnection(exportDataSource);
+        try {
+            StatelessSession session = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                    .withStatelessOptions().connection(connection).openStatelessSession();
+            return session.createSelectionQuery(AccountRepository.ACCOUNT_RESPONSE_SELECT + "order by a.accountId",
+                            AccountResponseDto.class)
+                    .setFetchSize(AccountConstant.EXPORT_FETCH_SIZE)
+                    .getResultStream()
+                    .onClose(session::close)
+                    .onClose(() -> DataSourceUtils.releaseConnection(connection, exportDataSource));
+        } catch (RuntimeException exception) {
+            DataSourceUtils.releaseConnection(connection, exportDataSource);
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.fmattaperdomo.accounts.repository;
+
+public interface AccountNumberSequenceRepository {
+    /**
+     * Reserves the next block of account number sequence values in a single round trip.
+     *
+     * @return first value of the reserved block, the block spans ACCOUNT_NUMBER_BLOCK_SIZE values
+     */
+    long reserveAccountNumberBlock();
+}
@@ -0,0 +1,33 @@
+package com.fmattaperdomo.accounts.repository;
+
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+class AccountNumberSequenceRepositoryImpl implements AccountNumberSequenceRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String nextValueSql;
+
+    @Override
+    public long reserveAccountNumberBlock() {
+        Number value = (Number) entityManager.createNativeQuery(nextValueSql()).getSingleResult();
+        return value.longValue();
+    }
+
+    /*
+     * The sequence syntax differs between H2 and PostgreSQL, so the statement comes from the active dialect.
+     */
+    private String nextValueSql() {
+        String sql = nextValueSql;
+        if (sql == null) {
+            sql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect().getSequenceSupport()
+                    .getSequenceNextValString(AccountConstant.ACCOUNT_NUMBER_SEQUENCE);
+            nextValueSql = sql;
+        }
+        return sql;
+    }
+}
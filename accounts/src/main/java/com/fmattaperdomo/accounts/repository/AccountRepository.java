@@ -1,23 +1,92 @@
 package com.fmattaperdomo.accounts.repository;
 
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+import com.fmattaperdomo.accounts.dto.VersionDto;
 import com.fmattaperdomo.accounts.entity.Account;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountNumberSequenceRepository,
+        AccountStatusRepository, AccountExportRepository {
+    String ACCOUNT_RESPONSE_SELECT = "select new com.fmattaperdomo.accounts.dto.AccountResponseDto("
+            + "a.accountId, a.customerId, a.accountNumber, a.accountType, a.branchName, a.accountStatus, c.name, a.version, "
+            + "coalesce(a.updatedAt, a.createdAt)) "
+            + "from Account a left join Customer c on c.customerId = a.customerId ";
+
     Optional<Account> findByCustomerIdAndAccountStatus(Long customerId, String accountStatus);
-    List<Account> findByCustomerId(Long customerId);
-    List<Account> findByBranchNameContainingIgnoreCase(String branchName);
-    List<Account> findByAccountTypeContainingIgnoreCase(String accountType);
-    List<Account> findByAccountStatusContainingIgnoreCase(String accountStatus);
 
-    @Transactional(readOnly = false)
+    /**
+     * The customer left joined with its account in the given status, in a single query. Empty when the
+     * customer does not exist; the account columns are null when the customer has no such account.
+     */
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_QUERY_TIMEOUT, value = AccountConstant.READ_TIMEOUT_MILLIS))
+    @Query("select new com.fmattaperdomo.accounts.dto.AccountResponseDto("
+            + "a.accountId, c.customerId, a.accountNumber, a.accountType, a.branchName, a.accountStatus, c.name, a.version, "
+            + "coalesce(a.updatedAt, a.createdAt)) "
+            + "from Customer c left join Account a on a.customerId = c.customerId and a.accountStatus = :accountStatus "
+            + "where c.customerId = :customerId")
+    Optional<AccountResponseDto> findCustomerAccountResponse(@Param("customerId") Long customerId,
+                                                             @Param("accountStatus") String accountStatus);
+
+    /**
+     * Only the id, version and audit columns of findCustomerAccountResponse, to validate a conditional
+     * read before loading the body. Empty when the customer does not exist; the columns are null when the
+     * customer has no such account.
+     */
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_QUERY_TIMEOUT, value = AccountConstant.READ_TIMEOUT_MILLIS))
+    @Query("select new com.fmattaperdomo.accounts.dto.VersionDto(a.accountId, a.version, coalesce(a.updatedAt, a.createdAt)) "
+            + "from Customer c left join Account a on a.customerId = c.customerId and a.accountStatus = :accountStatus "
+            + "where c.customerId = :customerId")
+    Optional<VersionDto> findCustomerAccountVersion(@Param("customerId") Long customerId,
+                                                    @Param("accountStatus") String accountStatus);
+
+    @Query("select a.customerId from Account a where a.customerId in :customerIds and a.accountStatus = :accountStatus")
+    List<Long> findCustomerIdsByCustomerIdInAndAccountStatus(@Param("customerIds") Collection<Long> customerIds,
+                                                             @Param("accountStatus") String accountStatus);
+
+    /**
+     * Keyset page of accounts joined with the name of their customer.
+     *
+     * @param afterAccountId - last account id of the previous page
+     * @param pageable - page size, the page number is always zero
+     */
+    @Query(ACCOUNT_RESPONSE_SELECT + "where a.accountId > :afterAccountId order by a.accountId")
+    List<AccountResponseDto> findAccountResponsesAfter(@Param("afterAccountId") Long afterAccountId, Pageable pageable);
+
+    @Query(ACCOUNT_RESPONSE_SELECT + "where a.customerId = :customerId order by a.accountId")
+    List<AccountResponseDto> findAccountResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    /*
+     * Search patterns are built by SearchMatchMode: lower case, with LIKE wildcards escaped by a backslash.
+     */
+    @Query(ACCOUNT_RESPONSE_SELECT + "where lower(a.branchName) like :pattern escape '\\' order by a.accountId")
+    List<AccountResponseDto> findAccountResponsesByBranchName(@Param("pattern") String pattern);
+
+    @Query(ACCOUNT_RESPONSE_SELECT + "where lower(a.accountType) like :pattern escape '\\' order by a.accountId")
+    List<AccountResponseDto> findAccountResponsesByAccountType(@Param("pattern") String pattern);
+
+    @Query(ACCOUNT_RESPONSE_SELECT + "where lower(a.accountStatus) like :pattern escape '\\' order by a.accountId")
+    List<AccountResponseDto> findAccountResponsesByAccountStatus(@Param("pattern") String pattern);
+
+    /**
+     * Deletes every account of the customer in a single statement, without loading them first.
+     *
+     * @return number of accounts deleted
+     */
     @Modifying
-    void deleteByCustomerId(Long customerId);
+    @Query("delete from Account a where a.customerId = :customerId")
+    int deleteByCustomerId(@Param("customerId") Long customerId);
 }
@@ -0,0 +1,24 @@
+package com.fmattaperdomo.accounts.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface AccountStatusRepository {
+    /**
+     * Locks (SELECT ... FOR UPDATE) every account that matches the filter and is not yet in the given status,
+     * so the set can not change until the transaction ends. Null filter values are ignored.
+     *
+     * @return customer id of every locked account, by account id
+     */
+    Map<Long, Long> lockAccountsForStatusChange(String accountStatus, String branchName, String accountType,
+                                                Collection<Long> accountIds);
+
+    /**
+     * Moves the given accounts to the given status with set-based UPDATEs of at most
+     * AccountConstant.BULK_BATCH_SIZE ids each, stamping the audit columns and bumping the version as a
+     * managed update would.
+     *
+     * @return number of accounts updated
+     */
+    int updateAccountStatus(String accountStatus, Collection<Long> accountIds, String updatedBy);
+}
@@ -0,0 +1,79 @@
+package com.fmattaperdomo.accounts.repository;
+
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.entity.Account;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class AccountStatusRepositoryImpl implements AccountStatusRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<Long, Long> lockAccountsForStatusChange(String accountStatus, String branchName, String accountType,
+                                                      Collection<Long> accountIds) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Account> account = query.from(Account.class);
+        query.multiselect(account.get("accountId"), account.get("customerId"))
+                .where(filter(criteriaBuilder, account, accountStatus, branchName, accountType, accountIds));
+        Map<Long, Long> customerIdByAccountId = new HashMap<>();
+        for (Tuple tuple : entityManager.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList()) {
+            customerIdByAccountId.put(tuple.get(0, Long.class), tuple.get(1, Long.class));
+        }
+        return customerIdByAccountId;
+    }
+
+    @Override
+    public int updateAccountStatus(String accountStatus, Collection<Long> accountIds, String updatedBy) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        List<Long> ids = new ArrayList<>(accountIds);
+        LocalDateTime updatedAt = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += AccountConstant.BULK_BATCH_SIZE) {
+            CriteriaUpdate<Account> update = criteriaBuilder.createCriteriaUpdate(Account.class);
+            Root<Account> account = update.from(Account.class);
+            update.set(account.<String>get("accountStatus"), accountStatus)
+                    .set(account.<LocalDateTime>get("updatedAt"), updatedAt)
+                    .set(account.<String>get("updatedBy"), updatedBy)
+                    .set(account.<Long>get("version"), criteriaBuilder.sum(account.<Long>get("version"), 1L))
+                    .where(account.get("accountId").in(ids.subList(from, Math.min(from + AccountConstant.BULK_BATCH_SIZE, ids.size()))));
+            updated += entityManager.createQuery(update).executeUpdate();
+        }
+        return updated;
+    }
+
+    /*
+     * Accounts already in the target status are left alone, so the count only reports real transitions and
+     * their versions, and with them any ETag, stay unchanged.
+     */
+    private static Predicate[] filter(CriteriaBuilder criteriaBuilder, Root<Account> account, String accountStatus,
+                                      String branchName, String accountType, Collection<Long> accountIds) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(criteriaBuilder.notEqual(account.get("accountStatus"), accountStatus));
+        if (branchName != null) {
+            predicates.add(criteriaBuilder.equal(account.get("branchName"), branchName));
+        }
+        if (accountType != null) {
+            predicates.add(criteriaBuilder.equal(account.get("accountType"), accountType));
+        }
+        if (accountIds != null && !accountIds.isEmpty()) {
+            predicates.add(account.get("accountId").in(accountIds));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
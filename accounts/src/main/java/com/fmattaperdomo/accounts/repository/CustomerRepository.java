@@ -1,27 +1,98 @@
 package com.fmattaperdomo.accounts.repository;
 
-import com.fmattaperdomo.accounts.entity.Account;
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.dto.CustomerVersionsDto;
 import com.fmattaperdomo.accounts.entity.Customer;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    List<Customer> findByMobileNumberContainingIgnoreCase(String mobileNumber);
-    List<Customer> findByDocumentNumberContainingIgnoreCase(String documentNumber);
-    List<Customer> findByEmailContainingIgnoreCase(String email);
-    List<Customer> findByNameContainingIgnoreCase(String name);
-
-    Optional<Customer> findByMobileNumber(String mobileNumber);
-    Optional<Customer> findByDocumentNumber(String documentNumber);
-    Optional<Customer> findByEmail(String email);
-
-    Optional<Customer> findByMobileNumberAndCustomerIdNot(String mobileNumber,Long customerId);
-    Optional<Customer> findByDocumentNumberAndCustomerIdNot(String documentNumber,Long customerId);
-    Optional<Customer> findByEmailAndCustomerIdNot(String email,Long customerId);
+    /*
+     * Customers joined with their active account, projected straight into the response so reads never
+     * hydrate managed entities.
+     */
+    String CUSTOMER_RESPONSE_SELECT = "select new com.fmattaperdomo.accounts.dto.CustomerResponseDto("
+            + "c.customerId, c.documentType, c.documentNumber, c.name, c.email, c.mobileNumber, c.version, "
+            + "coalesce(c.updatedAt, c.createdAt), a.accountId, a.accountNumber, a.accountType, a.branchName, "
+            + "a.accountStatus, a.version, coalesce(a.updatedAt, a.createdAt)) "
+            + "from Customer c left join Account a on a.customerId = c.customerId "
+            + "and a.accountStatus = '" + AccountConstant.ACCOUNT_STATUS + "' ";
+
+    /*
+     * Search patterns are built by SearchMatchMode: lower case, with LIKE wildcards escaped by a backslash.
+     */
+    @Query(CUSTOMER_RESPONSE_SELECT + "where c.mobileNumber like :pattern escape '\\' order by c.customerId")
+    List<CustomerResponseDto> findCustomerResponsesByMobileNumberMatching(@Param("pattern") String pattern);
+    @Query(CUSTOMER_RESPONSE_SELECT + "where lower(c.email) like :pattern escape '\\' order by c.customerId")
+    List<CustomerResponseDto> findCustomerResponsesByEmailMatching(@Param("pattern") String pattern);
+    @Query(CUSTOMER_RESPONSE_SELECT + "where lower(c.name) like :pattern escape '\\' order by c.customerId")
+    List<CustomerResponseDto> findCustomerResponsesByNameMatching(@Param("pattern") String pattern);
+
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_QUERY_TIMEOUT, value = AccountConstant.READ_TIMEOUT_MILLIS))
+    @Query(CUSTOMER_RESPONSE_SELECT + "where c.customerId = :customerId")
+    Optional<CustomerResponseDto> findCustomerResponseById(@Param("customerId") Long customerId);
+
+    /**
+     * Only the id, version and audit columns of the customer and of its active account, to validate a
+     * conditional read before loading the body.
+     */
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_QUERY_TIMEOUT, value = AccountConstant.READ_TIMEOUT_MILLIS))
+    @Query("select new com.fmattaperdomo.accounts.dto.CustomerVersionsDto("
+            + "c.customerId, c.version, coalesce(c.updatedAt, c.createdAt), "
+            + "a.accountId, a.version, coalesce(a.updatedAt, a.createdAt)) "
+            + "from Customer c left join Account a on a.customerId = c.customerId "
+            + "and a.accountStatus = '" + AccountConstant.ACCOUNT_STATUS + "' "
+            + "where c.customerId = :customerId")
+    Optional<CustomerVersionsDto> findVersionsByCustomerId(@Param("customerId") Long customerId);
+
+    @Query(CUSTOMER_RESPONSE_SELECT + "where c.customerId in :customerIds order by c.customerId")
+    List<CustomerResponseDto> findCustomerResponsesByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    /**
+     * Keyset page of customers joined with their active account.
+     *
+     * @param afterCustomerId - last customer id of the previous page
+     * @param pageable - page size, the page number is always zero
+     */
+    @Query(CUSTOMER_RESPONSE_SELECT + "where c.customerId > :afterCustomerId order by c.customerId")
+    List<CustomerResponseDto> findCustomerResponsesAfter(@Param("afterCustomerId") Long afterCustomerId, Pageable pageable);
+
+    /**
+     * @return number of customers deleted, zero when there is no customer with the given id
+     */
+    @Modifying
+    @Query("delete from Customer c where c.customerId = :customerId")
+    int deleteByCustomerId(@Param("customerId") Long customerId);
+
+    List<Customer> findByCustomerIdGreaterThanOrderByCustomerIdAsc(Long customerId, Pageable pageable);
+
+    @Query("select c.customerId from Customer c where c.customerId in :customerIds")
+    List<Long> findCustomerIdsByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    List<Customer> findByEmailInOrMobileNumberInOrDocumentNumberIn(Collection<String> emails,
+                                                                   Collection<String> mobileNumbers,
+                                                                   Collection<String> documentNumbers);
+
+    /**
+     * The customer with the given id, if any, plus every customer holding one of the given unique values.
+     */
+    @Query("select c from Customer c where c.customerId = :customerId or c.email = :email "
+            + "or c.mobileNumber = :mobileNumber or c.documentNumber = :documentNumber")
+    List<Customer> findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(@Param("customerId") Long customerId,
+                                                                         @Param("email") String email,
+                                                                         @Param("mobileNumber") String mobileNumber,
+                                                                         @Param("documentNumber") String documentNumber);
 }
\ No newline at end of file
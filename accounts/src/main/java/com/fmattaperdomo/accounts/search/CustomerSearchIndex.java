@@ -0,0 +1,223 @@
+package com.fmattaperdomo.accounts.search;
+
+import com.fmattaperdomo.accounts.constant.CustomerConstant;
+import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.entity.Customer;
+import com.fmattaperdomo.accounts.event.CustomerChangedEvent;
+import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory trigram index over the searchable customer fields. A substring query is answered by
+ * intersecting the posting sets of its trigrams; the resulting ids are only candidates and must be
+ * verified against the stored values, because a match of every trigram does not imply a match of
+ * the whole string.
+ * <p>
+ * The index is local to the node: it only sees the changes committed through this node. Customers
+ * created or changed on another node are missing or stale here until the next restart, so a CONTAINS
+ * search can miss them; it never returns them wrongly, because every candidate is verified against
+ * the database. Run a single node or route CONTAINS searches to one node until the index is shared.
+ */
+@Component
+public class CustomerSearchIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CustomerSearchIndex.class);
+    private static final int GRAM_SIZE = 3;
+
+    public enum Field {
+        NAME(Customer::getName, CustomerResponseDto::getName),
+        EMAIL(Customer::getEmail, CustomerResponseDto::getEmail),
+        MOBILE_NUMBER(Customer::getMobileNumber, CustomerResponseDto::getMobileNumber);
+
+        private final Function<Customer, String> extractor;
+        private final Function<CustomerResponseDto, String> responseExtractor;
+
+        Field(Function<Customer, String> extractor, Function<CustomerResponseDto, String> responseExtractor) {
+            this.extractor = extractor;
+            this.responseExtractor = responseExtractor;
+        }
+
+        public String valueOf(Customer customer) {
+            return extractor.apply(customer);
+        }
+
+        public String valueOf(CustomerResponseDto customerResponseDto) {
+            return responseExtractor.apply(customerResponseDto);
+        }
+    }
+
+    /**
+     * Indexed values of a customer and the @Version they were read at.
+     */
+    private record Entry(Long version, Map<Field, String> values) {
+    }
+
+    private final CustomerRepository customerRepository;
+    private final Map<Field, Map<String, Set<Long>>> postings = new EnumMap<>(Field.class);
+    private final Map<Long, Entry> indexedValues = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public CustomerSearchIndex(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+        for (Field field : Field.values()) {
+            postings.put(field, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Loads every customer page by page, indexing each page in parallel. Searches fall back to the
+     * database until the rebuild has finished. Changes committed while it runs win over the pages read
+     * before them: an older version never replaces a newer one, and a customer deleted during the
+     * rebuild is not added back.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long lastCustomerId = 0L;
+        List<Customer> page;
+        do {
+            page = customerRepository.findByCustomerIdGreaterThanOrderByCustomerIdAsc(lastCustomerId,
+                    PageRequest.of(0, CustomerConstant.SEARCH_INDEX_REBUILD_PAGE_SIZE));
+            page.parallelStream().forEach(customer -> index(customer, true));
+            if (!page.isEmpty()) {
+                lastCustomerId = page.get(page.size() - 1).getCustomerId();
+            }
+        } while (page.size() == CustomerConstant.SEARCH_INDEX_REBUILD_PAGE_SIZE);
+        ready = true;
+        removedDuringRebuild.clear();
+        LOGGER.info("Customer search index built with {} customers in {} ms", indexedValues.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.customerId());
+        } else {
+            index(event.customer());
+        }
+    }
+
+    public void index(Customer customer) {
+        index(customer, false);
+    }
+
+    /**
+     * Every change of one customer goes through compute on its key, so the version check, the tombstone
+     * check and the update happen atomically with respect to the other changes of that customer.
+     *
+     * @param fromRebuild - whether the customer was read by the rebuild rather than published by a change
+     */
+    private void index(Customer customer, boolean fromRebuild) {
+        Map<Field, String> values = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            String value = field.valueOf(customer);
+            if (value != null) {
+                values.put(field, normalize(value));
+            }
+        }
+        indexedValues.compute(customer.getCustomerId(), (customerId, previous) -> {
+            if (fromRebuild && removedDuringRebuild.contains(customerId)) {
+                return previous;
+            }
+            if (previous != null) {
+                if (isOlder(customer.getVersion(), previous.version())) {
+                    return previous;
+                }
+                unlink(customerId, previous.values());
+            }
+            link(customerId, values);
+            return new Entry(customer.getVersion(), values);
+        });
+    }
+
+    public void remove(Long customerId) {
+        indexedValues.compute(customerId, (id, previous) -> {
+            if (!ready) {
+                removedDuringRebuild.add(id);
+            }
+            if (previous != null) {
+                unlink(id, previous.values());
+            }
+            return null;
+        });
+    }
+
+    private static boolean isOlder(Long version, Long indexedVersion) {
+        return version != null && indexedVersion != null && version < indexedVersion;
+    }
+
+    /**
+     * @param field - Field to search
+     * @param query - Substring to look for, ignoring case
+     * @return ids of the customers whose field may contain the query, or empty when the index cannot
+     * answer it (not built yet or query shorter than a trigram) and the caller must query the database
+     */
+    public Optional<Set<Long>> findCandidates(Field field, String query) {
+        String normalized = normalize(query);
+        if (!ready || normalized.length() < GRAM_SIZE) {
+            return Optional.empty();
+        }
+        Map<String, Set<Long>> fieldPostings = postings.get(field);
+        List<Set<Long>> matches = trigrams(normalized).stream()
+                .map(gram -> fieldPostings.getOrDefault(gram, Set.of()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .toList();
+        Set<Long> candidates = new HashSet<>(matches.get(0));
+        for (int i = 1; i < matches.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(matches.get(i));
+        }
+        return Optional.of(candidates);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void link(Long customerId, Map<Field, String> values) {
+        values.forEach((field, value) -> trigrams(value).forEach(gram ->
+                postings.get(field).compute(gram, (key, ids) -> {
+                    Set<Long> linked = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                    linked.add(customerId);
+                    return linked;
+                })));
+    }
+
+    private void unlink(Long customerId, Map<Field, String> values) {
+        values.forEach((field, value) -> trigrams(value).forEach(gram ->
+                postings.get(field).computeIfPresent(gram, (key, ids) -> {
+                    ids.remove(customerId);
+                    return ids.isEmpty() ? null : ids;
+                })));
+    }
+
+    static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> trigrams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fmattaperdomo.accounts.service;
+
+import java.util.List;
+
+public interface AccountNumberService {
+    /**
+     * @return a new, never before issued account number ending in a Luhn check digit
+     */
+    long nextAccountNumber();
+
+    /**
+     * @param count - how many account numbers to issue
+     * @return count new, never before issued account numbers
+     */
+    List<Long> nextAccountNumbers(int count);
+}
@@ -1,11 +1,24 @@
 package com.fmattaperdomo.accounts.service;
 
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
 import com.fmattaperdomo.accounts.dto.AccountCreateRequestDto;
 import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+import com.fmattaperdomo.accounts.dto.AccountStatusUpdateRequestDto;
+import com.fmattaperdomo.accounts.dto.AccountStatusUpdateResponseDto;
 import com.fmattaperdomo.accounts.dto.AccountUpdateRequestDto;
+import com.fmattaperdomo.accounts.dto.BulkResponseDto;
 import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
+import com.fmattaperdomo.accounts.dto.VersionDto;
 
+import tools.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 public interface AccountService {
     /**
@@ -13,12 +26,39 @@ public interface AccountService {
      * @param accountCreateRequestDto - CustomerRequestDto Object
      */
     void createAccount(AccountCreateRequestDto accountCreateRequestDto);
+    /**
+     *
+     * @param accountCreateRequestDtos - AccountCreateRequestDto Objects to create
+     * @return outcome of every account, in request order
+     */
+    BulkResponseDto createAccounts(List<AccountCreateRequestDto> accountCreateRequestDtos);
+    /**
+     *
+     * @param accountsNdjson - One AccountCreateRequestDto JSON object per line
+     * @return outcome of every account, in request order
+     */
+    BulkResponseDto createAccounts(InputStream accountsNdjson);
     /**
      *
      * @param accountUpdateRequestDto - CustomerDto Object
+     * @param expectedVersion - version the client read, null to update unconditionally
+     * @return boolean indicating if the update of Account details is successful or not
+     */
+    boolean updateAccount(AccountUpdateRequestDto accountUpdateRequestDto, Long accountId, Long expectedVersion);
+    /**
+     *
+     * @param accountId - Input Account ID
+     * @param patch - JSON Merge Patch with the AccountUpdateRequestDto fields to change
+     * @param expectedVersion - version the client read, null to update unconditionally
      * @return boolean indicating if the update of Account details is successful or not
      */
-    boolean updateAccount(AccountUpdateRequestDto accountUpdateRequestDto, Long accountId);
+    boolean patchAccount(Long accountId, JsonNode patch, Long expectedVersion);
+    /**
+     *
+     * @param accountStatusUpdateRequestDto - New status and the filter selecting the Accounts to move
+     * @return number of Accounts and customers affected
+     */
+    AccountStatusUpdateResponseDto updateAccountStatus(AccountStatusUpdateRequestDto accountStatusUpdateRequestDto);
     /**
      *
      * @param accountId - Input Account ID
@@ -31,6 +71,13 @@ public interface AccountService {
      * @return get Account indicating if the search of Account details is successful or not
      */
     AccountResponseDto getAccountByCustomerId(Long customerId);
+    /**
+     *
+     * @param customerId - Input Customer ID
+     * @param notModified - Tells whether the copy held by the client matches the current version
+     * @return Account Details, empty when notModified accepts the current version
+     */
+    Optional<AccountResponseDto> getAccountByCustomerIdIfModified(Long customerId, Predicate<VersionDto> notModified);
     /**
      *
      * @param customerId - Input Customer ID
@@ -40,24 +87,34 @@ public interface AccountService {
     /**
      *
      * @param branchName - Input brand name
+     * @param matchMode - How the branch name is matched, ignoring case
      * @return list Account indicating if the search of Account details is successful or not
      */
-    List<AccountResponseDto> getAccountsByBranchName(String branchName);
+    List<AccountResponseDto> getAccountsByBranchName(String branchName, SearchMatchMode matchMode);
     /**
      *
      * @param accountType - Input brand name
+     * @param matchMode - How the account type is matched, ignoring case
      * @return list Account indicating if the search of Account details is successful or not
      */
-    List<AccountResponseDto> getAccountsByAccountType(String accountType);
+    List<AccountResponseDto> getAccountsByAccountType(String accountType, SearchMatchMode matchMode);
     /**
      *
      * @param accountStatus - Input account status
+     * @param matchMode - How the account status is matched, ignoring case
      * @return list Account indicating if the search of Account details is successful or not
      */
-    List<AccountResponseDto> getAccountsByAccountStatus(String accountStatus);
+    List<AccountResponseDto> getAccountsByAccountStatus(String accountStatus, SearchMatchMode matchMode);
+    /**
+     *
+     * @param cursor - Opaque cursor returned by the previous page, null for the first page
+     * @param size - Requested page size, capped to the maximum page size
+     * @return Page of Accounts Details ordered by account id
+     */
+    PageResponseDto<AccountResponseDto> getAccounts(String cursor, int size);
     /**
      *
-     * @return List of All Accounts Details
+     * @param outputStream - Output stream receiving every account as one JSON document per line
      */
-    List<AccountResponseDto> getAccounts();
+    void exportAccounts(OutputStream outputStream) throws IOException;
 }
\ No newline at end of file
@@ -1,29 +1,41 @@
 package com.fmattaperdomo.accounts.service;
 
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
+import com.fmattaperdomo.accounts.dto.BulkResponseDto;
 import com.fmattaperdomo.accounts.dto.CustomerRequestDto;
 import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.dto.CustomerVersionsDto;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
 
+import tools.jackson.databind.JsonNode;
+
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 public interface CustomerService {
     /**
      *
      * @param mobileNumber - Input mobile number
+     * @param matchMode - How the mobile number is matched
      * @return Customer Details based on a given mobileNumber
      */
-    List<CustomerResponseDto> getCustomersByMobileNumber(String mobileNumber);
+    List<CustomerResponseDto> getCustomersByMobileNumber(String mobileNumber, SearchMatchMode matchMode);
     /**
      *
      * @param name - Input customer name
+     * @param matchMode - How the name is matched, ignoring case
      * @return Customer Details based on a given mobileNumber
      */
-    List<CustomerResponseDto> getCustomersByName(String name);
+    List<CustomerResponseDto> getCustomersByName(String name, SearchMatchMode matchMode);
     /**
      *
      * @param email - Input email
+     * @param matchMode - How the email is matched, ignoring case
      * @return Customer Details based on a given email
      */
-    List<CustomerResponseDto> getCustomersByEmail(String email);
+    List<CustomerResponseDto> getCustomersByEmail(String email, SearchMatchMode matchMode);
     /**
      *
      * @param customerId - Input customer ID
@@ -32,20 +44,50 @@ public interface CustomerService {
     CustomerResponseDto getCustomerById(Long customerId);
     /**
      *
-     * @return List of All customers Details
+     * @param customerId - Input customer ID
+     * @param notModified - Tells whether the copy held by the client matches the current versions
+     * @return Customer Details, empty when notModified accepts the current versions
      */
-    List<CustomerResponseDto> getCustomers();
+    Optional<CustomerResponseDto> getCustomerByIdIfModified(Long customerId, Predicate<CustomerVersionsDto> notModified);
+    /**
+     *
+     * @param cursor - Opaque cursor returned by the previous page, null for the first page
+     * @param size - Requested page size, capped to the maximum page size
+     * @return Page of customers Details ordered by customer id
+     */
+    PageResponseDto<CustomerResponseDto> getCustomers(String cursor, int size);
     /**
      *
      * @param customerRequestDto - CustomerRequestDto Object
      */
     void createCustomer(CustomerRequestDto customerRequestDto);
+    /**
+     *
+     * @param customerRequestDtos - CustomerRequestDto Objects to create
+     * @return outcome of every customer, in request order
+     */
+    BulkResponseDto createCustomers(List<CustomerRequestDto> customerRequestDtos);
+    /**
+     *
+     * @param customersNdjson - One CustomerRequestDto JSON object per line
+     * @return outcome of every customer, in request order
+     */
+    BulkResponseDto createCustomers(InputStream customersNdjson);
     /**
      *
      * @param customerRequestDto - CustomerDto Object
+     * @param expectedVersion - version the client read, null to update unconditionally
      * @return boolean indicating if the update of Account details is successful or not
      */
-    boolean updateCustomer(CustomerRequestDto customerRequestDto,Long accountId);
+    boolean updateCustomer(CustomerRequestDto customerRequestDto,Long accountId, Long expectedVersion);
+    /**
+     *
+     * @param customerId - Input Customer ID
+     * @param patch - JSON Merge Patch with the CustomerRequestDto fields to change
+     * @param expectedVersion - version the client read, null to update unconditionally
+     * @return boolean indicating if the update of Customer details is successful or not
+     */
+    boolean patchCustomer(Long customerId, JsonNode patch, Long expectedVersion);
     /**
      *
      * @param customerId - Input customer ID
@@ -0,0 +1,120 @@
+package com.fmattaperdomo.accounts.service.impl;
+
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.repository.AccountRepository;
+import com.fmattaperdomo.accounts.service.AccountNumberService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out account numbers from blocks of the account_number_seq sequence. A block is reserved with
+ * one sequence call and then consumed lock-free by every thread of this node; other nodes reserve their
+ * own blocks, so numbers never collide. Unused numbers of a block are lost on restart, which only leaves
+ * gaps.
+ */
+@Service
+public class AccountNumberServiceImpl implements AccountNumberService {
+    private final AccountRepository accountRepository;
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block block = new Block(0, 0);
+
+    public AccountNumberServiceImpl(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    public long nextAccountNumber() {
+        return toAccountNumber(nextSequenceValue());
+    }
+
+    /*
+     * Claims the numbers of the current block with a single atomic add, moving on to a new block when
+     * the current one can not cover the whole request.
+     */
+    @Override
+    public List<Long> nextAccountNumbers(int count) {
+        List<Long> accountNumbers = new ArrayList<>(count);
+        while (accountNumbers.size() < count) {
+            Block current = block;
+            int wanted = count - accountNumbers.size();
+            long start = current.next.getAndAdd(wanted);
+            long end = Math.min(start + wanted, current.end);
+            for (long value = start; value < end; value++) {
+                accountNumbers.add(toAccountNumber(value));
+            }
+            if (accountNumbers.size() < count) {
+                refill(current);
+            }
+        }
+        return accountNumbers;
+    }
+
+    private long toAccountNumber(long sequenceValue) {
+        long body = AccountConstant.ACCOUNT_NUMBER_BASE + sequenceValue;
+        if (body >= AccountConstant.ACCOUNT_NUMBER_BASE * 10) {
+            throw new IllegalStateException("Account number sequence exhausted at value " + sequenceValue);
+        }
+        return body * 10 + luhnCheckDigit(body);
+    }
+
+    private long nextSequenceValue() {
+        while (true) {
+            Block current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) {
+                return value;
+            }
+            refill(current);
+        }
+    }
+
+    /*
+     * Only the first thread to see the exhausted block reserves a new one, the others wait and retry.
+     */
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (block == exhausted) {
+                long start = accountRepository.reserveAccountNumberBlock();
+                block = new Block(start, start + AccountConstant.ACCOUNT_NUMBER_BLOCK_SIZE);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * @param number - digits to protect
+     * @return Luhn check digit to append to the number
+     */
+    static int luhnCheckDigit(long number) {
+        int sum = 0;
+        boolean doubled = true;
+        for (long rest = number; rest > 0; rest /= 10) {
+            int digit = (int) (rest % 10);
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
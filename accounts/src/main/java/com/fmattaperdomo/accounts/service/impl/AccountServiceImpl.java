@@ -1,105 +1,327 @@
 package com.fmattaperdomo.accounts.service.impl;
 
 import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
 import com.fmattaperdomo.accounts.dto.AccountCreateRequestDto;
 import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+import com.fmattaperdomo.accounts.dto.AccountStatusUpdateRequestDto;
+import com.fmattaperdomo.accounts.dto.AccountStatusUpdateResponseDto;
 import com.fmattaperdomo.accounts.dto.AccountUpdateRequestDto;
-import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.dto.BulkItemResultDto;
+import com.fmattaperdomo.accounts.dto.BulkResponseDto;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
+import com.fmattaperdomo.accounts.dto.VersionDto;
 import com.fmattaperdomo.accounts.entity.Account;
 import com.fmattaperdomo.accounts.entity.Customer;
+import com.fmattaperdomo.accounts.event.AccountChangedEvent;
 import com.fmattaperdomo.accounts.exception.AccountAlreadyExistsException;
+import com.fmattaperdomo.accounts.exception.ConstraintViolations;
+import com.fmattaperdomo.accounts.exception.PreconditionFailedException;
 import com.fmattaperdomo.accounts.exception.ResourceNotFoundException;
 import com.fmattaperdomo.accounts.mapper.AccountMapper;
-import com.fmattaperdomo.accounts.mapper.CustomerMapper;
+import com.fmattaperdomo.accounts.mapper.PageMapper;
 import com.fmattaperdomo.accounts.repository.AccountRepository;
 import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import com.fmattaperdomo.accounts.service.AccountNumberService;
 import com.fmattaperdomo.accounts.service.AccountService;
 
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
+@Transactional(readOnly = true)
 public class AccountServiceImpl implements AccountService {
     private AccountRepository accountRepository;
     private CustomerRepository customerRepository;
+    private ObjectMapper objectMapper;
+    private ApplicationEventPublisher applicationEventPublisher;
+    private AccountNumberService accountNumberService;
+    private Validator validator;
+    private TransactionTemplate transactionTemplate;
+    private AuditorAware<String> auditorAware;
 
     /**
      * @param accountCreateRequestDto - AccountCreateRequestDto Object
      */
+    @Transactional(readOnly = false)
     @Override
     public void createAccount(AccountCreateRequestDto accountCreateRequestDto) {
-        Account account = AccountMapper.mapToAccountRequest(accountCreateRequestDto, new Account());
+        Account account = AccountMapper.INSTANCE.mapToAccountRequest(accountCreateRequestDto, new Account());
         Optional<Customer> optionalCustomer = customerRepository.findById(accountCreateRequestDto.getCustomerId());
         if(!optionalCustomer.isPresent()) {
             throw new ResourceNotFoundException("Customer","customerId",accountCreateRequestDto.getCustomerId().toString());
         }
 
-        Optional<Account> optionalAccount = accountRepository.findByCustomerIdAndAccountStatus(accountCreateRequestDto.getCustomerId(),"Active");
-        if(optionalAccount.isPresent()) {
-            throw new AccountAlreadyExistsException("Account already registered with given customer id "
-                    + accountCreateRequestDto.getCustomerId());
+        account.setAccountNumber(accountNumberService.nextAccountNumber());
+        account.setAccountStatus(AccountConstant.ACCOUNT_STATUS);
+        try {
+            accountRepository.saveAndFlush(account);
+        } catch (DataIntegrityViolationException exception) {
+            if (ConstraintViolations.isViolationOf(exception, AccountConstant.UK_ACTIVE_CUSTOMER)) {
+                throw new AccountAlreadyExistsException("Account already registered with given customer id "
+                        + accountCreateRequestDto.getCustomerId());
+            }
+            throw exception;
         }
+        applicationEventPublisher.publishEvent(new AccountChangedEvent(account.getCustomerId()));
+    }
 
-        long randomAccNumber = 1000000000L + new Random().nextInt(900000000);
-        account.setAccountNumber(randomAccNumber);
-        account.setAccountStatus(AccountConstant.ACCOUNT_STATUS);
-        accountRepository.save(account);
+    /*
+     * Every chunk commits in its own TransactionTemplate transaction, which must not join the
+     * class-level read-only one.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public BulkResponseDto createAccounts(List<AccountCreateRequestDto> accountCreateRequestDtos) {
+        return createAccounts(BulkRow.fromList(accountCreateRequestDtos));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public BulkResponseDto createAccounts(InputStream accountsNdjson) {
+        return createAccounts(BulkRow.fromNdjson(accountsNdjson, objectMapper, AccountCreateRequestDto.class));
+    }
+
+    /**
+     * Opens the accounts chunk by chunk, each chunk in its own transaction. Customers given an account
+     * by an earlier chunk of the request are remembered across chunks, so a customer never gets two
+     * active accounts from one request; a chunk that rolls back claims nothing.
+     */
+    private BulkResponseDto createAccounts(Iterator<BulkRow<AccountCreateRequestDto>> rows) {
+        Set<Long> claimedCustomerIds = new HashSet<>();
+        return BulkRow.process(rows, validator, AccountConstant.BULK_BATCH_SIZE, AccountConstant.STATUS_201,
+                chunk -> createAccountChunk(chunk, claimedCustomerIds));
+    }
+
+    private List<BulkItemResultDto> createAccountChunk(List<BulkRow<AccountCreateRequestDto>> chunk,
+                                                       Set<Long> claimedCustomerIds) {
+        Set<Long> customerIds = chunk.stream()
+                .filter(row -> !row.isRejected())
+                .map(row -> row.item().getCustomerId())
+                .collect(Collectors.toSet());
+        Set<Long> existingCustomerIds = new HashSet<>();
+        Set<Long> activeCustomerIds = new HashSet<>();
+        if (!customerIds.isEmpty()) {
+            existingCustomerIds.addAll(customerRepository.findCustomerIdsByCustomerIdIn(customerIds));
+            activeCustomerIds.addAll(accountRepository.findCustomerIdsByCustomerIdInAndAccountStatus(
+                    customerIds, AccountConstant.ACCOUNT_STATUS));
+        }
+
+        BulkItemResultDto[] results = new BulkItemResultDto[chunk.size()];
+        Set<Long> chunkCustomerIds = new HashSet<>();
+        List<Account> accounts = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkRow<AccountCreateRequestDto> row = chunk.get(i);
+            if (row.isRejected()) {
+                results[i] = new BulkItemResultDto(row.index(), AccountConstant.STATUS_400, null, row.error());
+                continue;
+            }
+            Long customerId = row.item().getCustomerId();
+            if (!existingCustomerIds.contains(customerId)) {
+                results[i] = new BulkItemResultDto(row.index(), AccountConstant.STATUS_404, null,
+                        new ResourceNotFoundException("Customer", "customerId", customerId.toString()).getMessage());
+                continue;
+            }
+            if (activeCustomerIds.contains(customerId) || claimedCustomerIds.contains(customerId)
+                    || !chunkCustomerIds.add(customerId)) {
+                results[i] = new BulkItemResultDto(row.index(), AccountConstant.STATUS_409, null,
+                        "Account already registered with given customer id " + customerId);
+                continue;
+            }
+            Account account = AccountMapper.INSTANCE.mapToAccountRequest(row.item(), new Account());
+            account.setAccountStatus(AccountConstant.ACCOUNT_STATUS);
+            accounts.add(account);
+            positions.add(i);
+        }
+
+        if (!accounts.isEmpty()) {
+            List<Long> accountNumbers = accountNumberService.nextAccountNumbers(accounts.size());
+            for (int i = 0; i < accounts.size(); i++) {
+                accounts.get(i).setAccountNumber(accountNumbers.get(i));
+            }
+            try {
+                transactionTemplate.execute(status -> {
+                    accountRepository.saveAll(accounts);
+                    accounts.forEach(account -> applicationEventPublisher.publishEvent(
+                            new AccountChangedEvent(account.getCustomerId())));
+                    return null;
+                });
+                claimedCustomerIds.addAll(chunkCustomerIds);
+                for (int i = 0; i < accounts.size(); i++) {
+                    int position = positions.get(i);
+                    results[position] = new BulkItemResultDto(chunk.get(position).index(), AccountConstant.STATUS_201,
+                            accounts.get(i).getAccountId(), AccountConstant.MESSAGE_201);
+                }
+            } catch (DataIntegrityViolationException exception) {
+                for (int position : positions) {
+                    results[position] = new BulkItemResultDto(chunk.get(position).index(), AccountConstant.STATUS_409,
+                            null, "Conflicts with an account registered concurrently, retry the item");
+                }
+            }
+        }
+        return Arrays.asList(results);
     }
 
     /**
      * @param1 accountUpdateRequestDto - CustomerDto Object
      * @param2 accountId - Long
+     * @param3 expectedVersion - version the client read, null to update unconditionally
      * @return boolean indicating if the update of Account details is successful or not
      */
+    @Transactional(readOnly = false)
     @Override
-    public boolean updateAccount(AccountUpdateRequestDto accountUpdateRequestDto, Long accountId) {
+    public boolean updateAccount(AccountUpdateRequestDto accountUpdateRequestDto, Long accountId, Long expectedVersion) {
         boolean isUpdated = false;
         if(accountUpdateRequestDto !=null ){
             Account account = accountRepository.findById(accountId).orElseThrow(
                     () -> new ResourceNotFoundException("Account", "accountId", accountId.toString())
             );
+            if (expectedVersion != null && !expectedVersion.equals(account.getVersion())) {
+                throw new PreconditionFailedException("Account", "accountId", accountId.toString());
+            }
             Long customerId = account.getCustomerId();
             Customer customer = customerRepository.findById(customerId).orElseThrow(
                     () -> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
             );
-            if (accountUpdateRequestDto.getCustomerId() != customerId){
+            if (!Objects.equals(accountUpdateRequestDto.getCustomerId(), customerId)){
                 throw new AccountAlreadyExistsException("Bad request with customer id  "
                         + customerId.toString());
             }
-            AccountMapper.mapToAccountUpdateRequest(accountUpdateRequestDto, account);
+            AccountMapper.INSTANCE.mapToAccountUpdateRequest(accountUpdateRequestDto, account);
             accountRepository.save(account);
+            applicationEventPublisher.publishEvent(new AccountChangedEvent(customerId));
             isUpdated = true;
         }
         return  isUpdated;
     }
 
+    /**
+     * The owning customer can not change, so unlike a full update the customer is not loaded. With dynamic
+     * updates the UPDATE lists only the columns whose value actually changed.
+     */
+    @Transactional(readOnly = false)
+    @Override
+    public boolean patchAccount(Long accountId, JsonNode patch, Long expectedVersion) {
+        Account account = accountRepository.findById(accountId).orElseThrow(
+                () -> new ResourceNotFoundException("Account", "accountId", accountId.toString())
+        );
+        if (expectedVersion != null && !expectedVersion.equals(account.getVersion())) {
+            throw new PreconditionFailedException("Account", "accountId", accountId.toString());
+        }
+        Long customerId = account.getCustomerId();
+        AccountUpdateRequestDto accountUpdateRequestDto = MergePatch.apply(objectMapper, validator,
+                AccountMapper.INSTANCE.mapToAccountUpdateRequestDto(account, new AccountUpdateRequestDto()), patch);
+        if (!customerId.equals(accountUpdateRequestDto.getCustomerId())) {
+            throw new AccountAlreadyExistsException("Bad request with customer id  " + customerId);
+        }
+        AccountMapper.INSTANCE.mapToAccountUpdateRequest(accountUpdateRequestDto, account);
+        accountRepository.save(account);
+        applicationEventPublisher.publishEvent(new AccountChangedEvent(customerId));
+        return true;
+    }
+
+    /**
+     * The matching accounts are locked first, so the accounts updated and the customers evicted from the
+     * caches are the same set even when other writers touch the filter columns meanwhile. The update bypasses
+     * the persistence context, so the audit columns and version are set by hand.
+     */
+    @Transactional(readOnly = false)
+    @Override
+    public AccountStatusUpdateResponseDto updateAccountStatus(AccountStatusUpdateRequestDto accountStatusUpdateRequestDto) {
+        String accountStatus = accountStatusUpdateRequestDto.getAccountStatus();
+        Map<Long, Long> customerIdByAccountId = accountRepository.lockAccountsForStatusChange(accountStatus,
+                accountStatusUpdateRequestDto.getBranchName(), accountStatusUpdateRequestDto.getAccountType(),
+                accountStatusUpdateRequestDto.getAccountIds());
+        if (customerIdByAccountId.isEmpty()) {
+            return new AccountStatusUpdateResponseDto(0, 0);
+        }
+        int updated = accountRepository.updateAccountStatus(accountStatus, customerIdByAccountId.keySet(),
+                auditorAware.getCurrentAuditor().orElse(null));
+        Set<Long> customerIds = new HashSet<>(customerIdByAccountId.values());
+        customerIds.forEach(customerId -> applicationEventPublisher.publishEvent(new AccountChangedEvent(customerId)));
+        return new AccountStatusUpdateResponseDto(updated, customerIds.size());
+    }
+
     /**
      * @param accountId - Input Account id
      * @return boolean indicating if the delete of Account details is successful or not
      */
+    @Transactional(readOnly = false)
     @Override
     public boolean deleteAccount(Long accountId) {
         Account account = accountRepository.findById(accountId).orElseThrow(
                 () -> new ResourceNotFoundException("Account", "accountId", accountId.toString())
         );
         accountRepository.deleteById(account.getAccountId());
+        applicationEventPublisher.publishEvent(new AccountChangedEvent(account.getCustomerId()));
         return true;
     }
 
+    /**
+     * One query starting from the customer, so a missing customer and a missing account are told apart
+     * without a second round trip.
+     */
+    @Cacheable(cacheNames = AccountConstant.CACHE_NAME, key = "#customerId", sync = true)
     @Override
     public AccountResponseDto getAccountByCustomerId(Long customerId) {
-        Customer customer = customerRepository.findById(customerId).orElseThrow(
-                () -> new ResourceNotFoundException("Customer", "customerId", customerId.toString())
-        );
-        Account account = accountRepository.findByCustomerIdAndAccountStatus(customerId,"Active").orElseThrow(
-                () -> new ResourceNotFoundException("Account", "customerId", customer.getCustomerId().toString())
-        );
-        AccountResponseDto accountResponseDto = AccountMapper.mapToAccountResponseDto(account, new AccountResponseDto());
+        return findActiveAccountResponse(customerId);
+    }
+
+    /**
+     * Reads only the version first, so a 304 never loads the body. Both reads share the transaction of
+     * the call, and with it a single connection; repeatable read gives them the same snapshot, so the body
+     * always matches the versions that were checked. The cache is bypassed: a conditional read is validated
+     * against the committed rows.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Override
+    public Optional<AccountResponseDto> getAccountByCustomerIdIfModified(Long customerId, Predicate<VersionDto> notModified) {
+        VersionDto versionDto = accountRepository.findCustomerAccountVersion(customerId, AccountConstant.ACCOUNT_STATUS)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", "customerId", customerId.toString()));
+        if (versionDto.getEntityId() == null) {
+            throw new ResourceNotFoundException("Account", "customerId", customerId.toString());
+        }
+        if (notModified.test(versionDto)) {
+            return Optional.empty();
+        }
+        return Optional.of(findActiveAccountResponse(customerId));
+    }
+
+    private AccountResponseDto findActiveAccountResponse(Long customerId) {
+        AccountResponseDto accountResponseDto = accountRepository.findCustomerAccountResponse(customerId, AccountConstant.ACCOUNT_STATUS)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", "customerId", customerId.toString()));
+        if (accountResponseDto.getAccountId() == null) {
+            throw new ResourceNotFoundException("Account", "customerId", customerId.toString());
+        }
         return accountResponseDto;
     }
 
@@ -109,94 +331,72 @@ public class AccountServiceImpl implements AccountService {
      */
     @Override
     public List<AccountResponseDto> getAccountsByCustomerId(Long customerId) {
-        List<Account> accounts = accountRepository.findByCustomerId(customerId);
-
-        return accounts.stream()
-                .map(account -> {
-                    AccountResponseDto accountResponseDto =AccountMapper.mapToAccountResponseDto(account, new AccountResponseDto());
-                    Optional<Customer> optionalCustomer = customerRepository.findById(account.getCustomerId());
-                    if(optionalCustomer.isPresent()) {
-                        accountResponseDto.setCustomerName(optionalCustomer.get().getName());
-                    }
-                    return accountResponseDto;
-                })
-                .toList();
+        return accountRepository.findAccountResponsesByCustomerId(customerId);
     }
 
     /**
      * @param branchName - Input Branch name
+     * @param matchMode - How the branch name is matched
      * @return list of accounts details
      */
     @Override
-    public List<AccountResponseDto> getAccountsByBranchName(String branchName) {
-        List<Account> accounts = accountRepository.findByBranchNameContainingIgnoreCase(branchName);
-
-        return accounts.stream()
-                .map(account -> {
-                    AccountResponseDto accountResponseDto =AccountMapper.mapToAccountResponseDto(account, new AccountResponseDto());
-                    Optional<Customer> optionalCustomer = customerRepository.findById(account.getCustomerId());
-                    if(optionalCustomer.isPresent()) {
-                        accountResponseDto.setCustomerName(optionalCustomer.get().getName());
-                    }
-                    return accountResponseDto;
-                })
-                .toList();
+    public List<AccountResponseDto> getAccountsByBranchName(String branchName, SearchMatchMode matchMode) {
+        return accountRepository.findAccountResponsesByBranchName(matchMode.toLikePattern(branchName));
     }
 
     /**
      * @param accountType - Input Account type
+     * @param matchMode - How the account type is matched
      * @return list of accounts details
      */
     @Override
-    public List<AccountResponseDto> getAccountsByAccountType(String accountType) {
-        List<Account> accounts = accountRepository.findByAccountTypeContainingIgnoreCase(accountType);
-
-        return accounts.stream()
-                .map(account -> {
-                    AccountResponseDto accountResponseDto =AccountMapper.mapToAccountResponseDto(account, new AccountResponseDto());
-                    Optional<Customer> optionalCustomer = customerRepository.findById(account.getCustomerId());
-                    if(optionalCustomer.isPresent()) {
-                        accountResponseDto.setCustomerName(optionalCustomer.get().getName());
-                    }
-                    return accountResponseDto;
-                })
-                .toList();
+    public List<AccountResponseDto> getAccountsByAccountType(String accountType, SearchMatchMode matchMode) {
+        return accountRepository.findAccountResponsesByAccountType(matchMode.toLikePattern(accountType));
     }
 
     /**
      * @param accountStatus - Input Account status
+     * @param matchMode - How the account status is matched
      * @return list of accounts details
      */
-
     @Override
-    public List<AccountResponseDto> getAccountsByAccountStatus(String accountStatus) {
-        List<Account> accounts = accountRepository.findByAccountStatusContainingIgnoreCase(accountStatus);
+    public List<AccountResponseDto> getAccountsByAccountStatus(String accountStatus, SearchMatchMode matchMode) {
+        return accountRepository.findAccountResponsesByAccountStatus(matchMode.toLikePattern(accountStatus));
+    }
 
-        return accounts.stream()
-                .map(account -> {
-                    AccountResponseDto accountResponseDto =AccountMapper.mapToAccountResponseDto(account, new AccountResponseDto());
-                    Optional<Customer> optionalCustomer = customerRepository.findById(account.getCustomerId());
-                    if(optionalCustomer.isPresent()) {
-                        accountResponseDto.setCustomerName(optionalCustomer.get().getName());
-                    }
-                    return accountResponseDto;
-                })
-                .toList();
+    /**
+     * @param cursor - Opaque cursor of the previous page
+     * @param size - Requested page size
+     * @return page of accounts details
+     */
+    @Override
+    public PageResponseDto<AccountResponseDto> getAccounts(String cursor, int size) {
+        List<AccountResponseDto> accounts = accountRepository.findAccountResponsesAfter(
+                PageMapper.decodeCursor(cursor), PageMapper.toLookAheadPageable(size));
+        return PageMapper.mapToPageResponseDto(accounts, size, AccountResponseDto::getAccountId);
     }
 
+    /**
+     * Writes every account as newline-delimited JSON while reading them from a database cursor,
+     * so memory use does not depend on the number of accounts. The cursor lives on the export pool,
+     * so no transaction, and no connection of the main pool, is held while the client reads.
+     *
+     * @param outputStream - Output stream of the export
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
-    public List<AccountResponseDto> getAccounts() {
-        List<Account> accounts = accountRepository.findAll();
-
-        return accounts.stream()
-                .map(account -> {
-                    AccountResponseDto accountResponseDto = AccountMapper.mapToAccountResponseDto(account, new AccountResponseDto());
-                    Optional<Customer> optionalCustomer = customerRepository.findById(account.getCustomerId());
-                    if(optionalCustomer.isPresent()) {
-                        accountResponseDto.setCustomerName(optionalCustomer.get().getName());
-                    }
-                    return accountResponseDto;
-                })
-                .toList();
+    public void exportAccounts(OutputStream outputStream) throws IOException {
+        try (Stream<AccountResponseDto> accounts = accountRepository.streamAllAccountResponses()) {
+            Iterator<AccountResponseDto> iterator = accounts.iterator();
+            int rows = 0;
+            while (iterator.hasNext()) {
+                outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+                if (++rows % AccountConstant.EXPORT_FLUSH_ROWS == 0) {
+                    outputStream.flush();
+                }
+            }
+        }
+        outputStream.flush();
     }
 }
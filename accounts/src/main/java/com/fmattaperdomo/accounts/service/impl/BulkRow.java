@@ -0,0 +1,130 @@
+package com.fmattaperdomo.accounts.service.impl;
+
+import com.fmattaperdomo.accounts.dto.BulkItemResultDto;
+import com.fmattaperdomo.accounts.dto.BulkResponseDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One item of a bulk request, read lazily from either a JSON array or an NDJSON body.
+ *
+ * @param index - zero based position of the item in the request
+ * @param item - parsed item, null when it could not be read
+ * @param error - reason the item can not be processed, null when it is valid so far
+ */
+record BulkRow<T>(int index, T item, String error) {
+
+    boolean isRejected() {
+        return error != null;
+    }
+
+    /**
+     * @return the same row, rejected with the bean validation messages of the item when it has any
+     */
+    BulkRow<T> validate(Validator validator) {
+        if (isRejected()) {
+            return this;
+        }
+        List<ConstraintViolation<T>> violations = new ArrayList<>(validator.validate(item));
+        if (violations.isEmpty()) {
+            return this;
+        }
+        String message = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return new BulkRow<>(index, item, message);
+    }
+
+    /**
+     * Validates the rows and hands them to the chunk processor chunkSize at a time, so each chunk can be
+     * checked with set-based queries and written in JDBC batches.
+     *
+     * @param createdStatus - status code the chunk processor gives a row it created
+     * @param chunkProcessor - returns the outcome of every row of the chunk, in chunk order
+     * @return outcome of every row; a row counts as created when its result has the created status
+     */
+    static <T> BulkResponseDto process(Iterator<BulkRow<T>> rows, Validator validator, int chunkSize, String createdStatus,
+                                       Function<List<BulkRow<T>>, List<BulkItemResultDto>> chunkProcessor) {
+        List<BulkItemResultDto> results = new ArrayList<>();
+        List<BulkRow<T>> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next().validate(validator));
+            if (chunk.size() == chunkSize || !rows.hasNext()) {
+                results.addAll(chunkProcessor.apply(chunk));
+                chunk.clear();
+            }
+        }
+        int created = (int) results.stream().filter(result -> createdStatus.equals(result.getStatusCode())).count();
+        return new BulkResponseDto(created, results.size() - created, results);
+    }
+
+    static <T> Iterator<BulkRow<T>> fromList(List<T> items) {
+        List<BulkRow<T>> rows = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            rows.add(item == null ? new BulkRow<>(i, null, "Item can not be null") : new BulkRow<>(i, item, null));
+        }
+        return rows.iterator();
+    }
+
+    /**
+     * Reads one item per non blank line. A line that is not valid JSON only rejects its own row.
+     */
+    static <T> Iterator<BulkRow<T>> fromNdjson(InputStream inputStream, ObjectMapper objectMapper, Class<T> type) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return new Iterator<>() {
+            private int index;
+            private String line = nextLine();
+
+            @Override
+            public boolean hasNext() {
+                return line != null;
+            }
+
+            @Override
+            public BulkRow<T> next() {
+                if (line == null) {
+                    throw new NoSuchElementException();
+                }
+                BulkRow<T> row;
+                try {
+                    T item = objectMapper.readValue(line, type);
+                    row = new BulkRow<>(index, item, item == null ? "Item can not be null" : null);
+                } catch (JacksonException exception) {
+                    row = new BulkRow<>(index, null, "Malformed JSON: " + exception.getOriginalMessage());
+                }
+                index++;
+                line = nextLine();
+                return row;
+            }
+
+            private String nextLine() {
+                try {
+                    String next;
+                    do {
+                        next = reader.readLine();
+                    } while (next != null && next.isBlank());
+                    return next;
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            }
+        };
+    }
+}
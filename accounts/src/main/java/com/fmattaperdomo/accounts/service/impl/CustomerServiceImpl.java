@@ -1,181 +1,407 @@
 package com.fmattaperdomo.accounts.service.impl;
 
-import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+import com.fmattaperdomo.accounts.constant.CustomerConstant;
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
+import com.fmattaperdomo.accounts.dto.BulkItemResultDto;
+import com.fmattaperdomo.accounts.dto.BulkResponseDto;
 import com.fmattaperdomo.accounts.dto.CustomerRequestDto;
 import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
-import com.fmattaperdomo.accounts.entity.Account;
+import com.fmattaperdomo.accounts.dto.CustomerVersionsDto;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
 import com.fmattaperdomo.accounts.entity.Customer;
+import com.fmattaperdomo.accounts.event.CustomerChangedEvent;
+import com.fmattaperdomo.accounts.exception.ConstraintViolations;
 import com.fmattaperdomo.accounts.exception.CustomerAlreadyExistsException;
+import com.fmattaperdomo.accounts.exception.PreconditionFailedException;
 import com.fmattaperdomo.accounts.exception.ResourceNotFoundException;
-import com.fmattaperdomo.accounts.mapper.AccountMapper;
 import com.fmattaperdomo.accounts.mapper.CustomerMapper;
+import com.fmattaperdomo.accounts.mapper.PageMapper;
 import com.fmattaperdomo.accounts.repository.AccountRepository;
 import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import com.fmattaperdomo.accounts.search.CustomerSearchIndex;
 import com.fmattaperdomo.accounts.service.CustomerService;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 @Service
 @AllArgsConstructor
+@Transactional(readOnly = true)
 public class CustomerServiceImpl implements CustomerService {
     private AccountRepository accountRepository;
     private CustomerRepository customerRepository;
+    private CustomerSearchIndex customerSearchIndex;
+    private ApplicationEventPublisher applicationEventPublisher;
+    private ObjectMapper objectMapper;
+    private Validator validator;
+    private TransactionTemplate transactionTemplate;
 
     @Override
-    public List<CustomerResponseDto> getCustomersByName(String name) {
-        List<Customer> customers = customerRepository.findByNameContainingIgnoreCase(name);
-
-        return customers.stream()
-                .map(customer -> {
-                    Optional<Account> optionalAccount = accountRepository.findByCustomerIdAndAccountStatus(customer.getCustomerId(),"Active");
-                    AccountResponseDto accountResponseDto = new AccountResponseDto();
-                    if(optionalAccount.isPresent()) {
-                        accountResponseDto = AccountMapper.mapToAccountResponseDto(optionalAccount.get(), new AccountResponseDto());
-                    }
-                    CustomerResponseDto customerResponseDto = CustomerMapper.mapToCustomerResponseDto(customer, new CustomerResponseDto(),accountResponseDto);
-                    return customerResponseDto;
-                })
-                .toList();
+    public List<CustomerResponseDto> getCustomersByName(String name, SearchMatchMode matchMode) {
+        return searchCustomers(CustomerSearchIndex.Field.NAME, name, matchMode,
+                () -> customerRepository.findCustomerResponsesByNameMatching(matchMode.toLikePattern(name)));
     }
 
     @Override
-    public List<CustomerResponseDto> getCustomersByMobileNumber(String mobileNumber) {
-        List<Customer> customers = customerRepository.findByMobileNumberContainingIgnoreCase(mobileNumber);
-
-        return customers.stream()
-                .map(customer -> {
-                    Optional<Account> optionalAccount = accountRepository.findByCustomerIdAndAccountStatus(customer.getCustomerId(),"Active");
-                    AccountResponseDto accountResponseDto = new AccountResponseDto();
-                    if(optionalAccount.isPresent()) {
-                        accountResponseDto = AccountMapper.mapToAccountResponseDto(optionalAccount.get(), new AccountResponseDto());
-                    }
-                    CustomerResponseDto customerResponseDto = CustomerMapper.mapToCustomerResponseDto(customer, new CustomerResponseDto(),accountResponseDto);
-                    return customerResponseDto;
-                })
-                .toList();
+    public List<CustomerResponseDto> getCustomersByMobileNumber(String mobileNumber, SearchMatchMode matchMode) {
+        return searchCustomers(CustomerSearchIndex.Field.MOBILE_NUMBER, mobileNumber, matchMode,
+                () -> customerRepository.findCustomerResponsesByMobileNumberMatching(matchMode.toLikePattern(mobileNumber)));
     }
 
     @Override
-    public List<CustomerResponseDto> getCustomersByEmail(String email) {
-        List<Customer> customers = customerRepository.findByEmailContainingIgnoreCase(email);
-
-        return customers.stream()
-                .map(customer -> {
-                    Optional<Account> optionalAccount = accountRepository.findByCustomerIdAndAccountStatus(customer.getCustomerId(),"Active");
-                    AccountResponseDto accountResponseDto = new AccountResponseDto();
-                    if(optionalAccount.isPresent()) {
-                        accountResponseDto = AccountMapper.mapToAccountResponseDto(optionalAccount.get(), new AccountResponseDto());
-                    }
-                    CustomerResponseDto customerResponseDto = CustomerMapper.mapToCustomerResponseDto(customer, new CustomerResponseDto(),accountResponseDto);
-                    return customerResponseDto;
-                })
-                .toList();
+    public List<CustomerResponseDto> getCustomersByEmail(String email, SearchMatchMode matchMode) {
+        return searchCustomers(CustomerSearchIndex.Field.EMAIL, email, matchMode,
+                () -> customerRepository.findCustomerResponsesByEmailMatching(matchMode.toLikePattern(email)));
     }
 
+    /**
+     * Answers CONTAINS searches from the trigram index when it can: the candidate ids are fetched in
+     * batches and verified against the actual value. Any other search goes to the database.
+     */
+    private List<CustomerResponseDto> searchCustomers(CustomerSearchIndex.Field field, String value, SearchMatchMode matchMode,
+                                                      Supplier<List<CustomerResponseDto>> databaseSearch) {
+        if (matchMode == SearchMatchMode.CONTAINS) {
+            Optional<Set<Long>> candidates = customerSearchIndex.findCandidates(field, value);
+            if (candidates.isPresent()) {
+                String query = value.toLowerCase(Locale.ROOT);
+                return findCustomerResponsesByIds(new ArrayList<>(candidates.get())).stream()
+                        .filter(customer -> {
+                            String fieldValue = field.valueOf(customer);
+                            return fieldValue != null && fieldValue.toLowerCase(Locale.ROOT).contains(query);
+                        })
+                        .sorted(Comparator.comparing(CustomerResponseDto::getCustomerId))
+                        .toList();
+            }
+        }
+        return databaseSearch.get();
+    }
+
+    private List<CustomerResponseDto> findCustomerResponsesByIds(List<Long> customerIds) {
+        List<CustomerResponseDto> customers = new ArrayList<>(customerIds.size());
+        for (int from = 0; from < customerIds.size(); from += CustomerConstant.LOOKUP_BATCH_SIZE) {
+            customers.addAll(customerRepository.findCustomerResponsesByCustomerIdIn(customerIds.subList(from,
+                    Math.min(from + CustomerConstant.LOOKUP_BATCH_SIZE, customerIds.size()))));
+        }
+        return customers;
+    }
+
+    @Cacheable(cacheNames = CustomerConstant.CACHE_NAME, key = "#customerId", sync = true)
     @Override
     public CustomerResponseDto getCustomerById(Long customerId) {
-        Customer customer = customerRepository.findById(customerId).orElseThrow(
+        return customerRepository.findCustomerResponseById(customerId).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "customerId", customerId.toString())
+        );
+    }
+
+    /**
+     * Reads only the versions first, so a 304 never loads the body. Both reads share the transaction of
+     * the call, and with it a single connection; repeatable read gives them the same snapshot, so the body
+     * always matches the versions that were checked. The cache is bypassed: a conditional read is validated
+     * against the committed rows.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Override
+    public Optional<CustomerResponseDto> getCustomerByIdIfModified(Long customerId,
+                                                                   Predicate<CustomerVersionsDto> notModified) {
+        CustomerVersionsDto customerVersionsDto = customerRepository.findVersionsByCustomerId(customerId).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "customerId", customerId.toString())
         );
-        Optional<Account> optionalAccount = accountRepository.findByCustomerIdAndAccountStatus(customer.getCustomerId(),"Active");
-        AccountResponseDto accountResponseDto = new AccountResponseDto();
-        if(optionalAccount.isPresent()) {
-            accountResponseDto = AccountMapper.mapToAccountResponseDto(optionalAccount.get(), new AccountResponseDto());
+        if (notModified.test(customerVersionsDto)) {
+            return Optional.empty();
         }
-        CustomerResponseDto customerResponseDto = CustomerMapper.mapToCustomerResponseDto(customer, new CustomerResponseDto(),accountResponseDto);
-        return customerResponseDto;
+        return Optional.of(customerRepository.findCustomerResponseById(customerId).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "customerId", customerId.toString())
+        ));
     }
 
+    /**
+     * Every page is a single query joining the active account of each customer.
+     */
     @Override
-    public List<CustomerResponseDto> getCustomers() {
-        List<Customer> customers = customerRepository.findAll();
-
-        return customers.stream()
-                .map(customer -> {
-                    Optional<Account> optionalAccount = accountRepository.findByCustomerIdAndAccountStatus(customer.getCustomerId(),"Active");
-                    AccountResponseDto accountResponseDto = new AccountResponseDto();
-                    if(optionalAccount.isPresent()) {
-                        accountResponseDto = AccountMapper.mapToAccountResponseDto(optionalAccount.get(), new AccountResponseDto());
-                    }
-                    CustomerResponseDto customerResponseDto = CustomerMapper.mapToCustomerResponseDto(customer, new CustomerResponseDto(),accountResponseDto);
-                    return customerResponseDto;
-                })
-                .toList();
+    public PageResponseDto<CustomerResponseDto> getCustomers(String cursor, int size) {
+        List<CustomerResponseDto> customers = customerRepository.findCustomerResponsesAfter(
+                PageMapper.decodeCursor(cursor), PageMapper.toLookAheadPageable(size));
+        return PageMapper.mapToPageResponseDto(customers, size, CustomerResponseDto::getCustomerId);
     }
 
     @Transactional(readOnly = false)
     @Modifying
     @Override
     public void createCustomer(CustomerRequestDto customerRequestDto) {
-        Customer customer = CustomerMapper.mapToCustomerRequest(customerRequestDto, new Customer());
-
-        Optional<Customer> optionalCustomer;
-        optionalCustomer = customerRepository.findByEmail(customerRequestDto.getEmail());
-        if(optionalCustomer.isPresent()) {
-            throw new CustomerAlreadyExistsException("Customer already registered with given email "
-                    +customerRequestDto.getEmail());
+        Customer customer = CustomerMapper.INSTANCE.mapToCustomerRequest(customerRequestDto, new Customer());
+        try {
+            customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException exception) {
+            throw toCustomerAlreadyExists(exception, customerRequestDto);
         }
-        optionalCustomer = customerRepository.findByMobileNumber(customerRequestDto.getMobileNumber());
-        if(optionalCustomer.isPresent()) {
-            throw new CustomerAlreadyExistsException("Customer already registered with given mobile number "
-                    +customerRequestDto.getMobileNumber());
+        applicationEventPublisher.publishEvent(new CustomerChangedEvent(customer.getCustomerId(), customer));
+    }
+
+    /*
+     * Every chunk commits in its own TransactionTemplate transaction, which must not join the
+     * class-level read-only one.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public BulkResponseDto createCustomers(List<CustomerRequestDto> customerRequestDtos) {
+        return createCustomers(BulkRow.fromList(customerRequestDtos));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public BulkResponseDto createCustomers(InputStream customersNdjson) {
+        return createCustomers(BulkRow.fromNdjson(customersNdjson, objectMapper, CustomerRequestDto.class));
+    }
+
+    /**
+     * Creates the customers chunk by chunk, each chunk in its own transaction so the persistence
+     * context stays bounded. Values of the items created by earlier chunks are remembered across
+     * chunks, so a duplicate is detected wherever it appears; a chunk that rolls back claims nothing.
+     */
+    private BulkResponseDto createCustomers(Iterator<BulkRow<CustomerRequestDto>> rows) {
+        Set<String> claimedEmails = new HashSet<>();
+        Set<String> claimedMobileNumbers = new HashSet<>();
+        Set<String> claimedDocumentNumbers = new HashSet<>();
+        return BulkRow.process(rows, validator, CustomerConstant.BULK_BATCH_SIZE, CustomerConstant.STATUS_201,
+                chunk -> createCustomerChunk(chunk, claimedEmails, claimedMobileNumbers, claimedDocumentNumbers));
+    }
+
+    private List<BulkItemResultDto> createCustomerChunk(List<BulkRow<CustomerRequestDto>> chunk, Set<String> claimedEmails,
+                                                        Set<String> claimedMobileNumbers, Set<String> claimedDocumentNumbers) {
+        List<CustomerRequestDto> candidates = chunk.stream().filter(row -> !row.isRejected()).map(BulkRow::item).toList();
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingMobileNumbers = new HashSet<>();
+        Set<String> existingDocumentNumbers = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            customerRepository.findByEmailInOrMobileNumberInOrDocumentNumberIn(
+                    candidates.stream().map(CustomerRequestDto::getEmail).toList(),
+                    candidates.stream().map(CustomerRequestDto::getMobileNumber).toList(),
+                    candidates.stream().map(CustomerRequestDto::getDocumentNumber).toList())
+                    .forEach(customer -> {
+                        existingEmails.add(customer.getEmail());
+                        existingMobileNumbers.add(customer.getMobileNumber());
+                        existingDocumentNumbers.add(customer.getDocumentNumber());
+                    });
         }
-        optionalCustomer = customerRepository.findByDocumentNumber(customerRequestDto.getDocumentNumber());
-        if(optionalCustomer.isPresent()) {
-            throw new CustomerAlreadyExistsException("Customer already registered with given document number "
-                    +customerRequestDto.getDocumentNumber());
+
+        BulkItemResultDto[] results = new BulkItemResultDto[chunk.size()];
+        Set<String> chunkEmails = new HashSet<>();
+        Set<String> chunkMobileNumbers = new HashSet<>();
+        Set<String> chunkDocumentNumbers = new HashSet<>();
+        List<Customer> customers = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkRow<CustomerRequestDto> row = chunk.get(i);
+            if (row.isRejected()) {
+                results[i] = new BulkItemResultDto(row.index(), CustomerConstant.STATUS_400, null, row.error());
+                continue;
+            }
+            CustomerRequestDto dto = row.item();
+            String conflict = null;
+            if (existingEmails.contains(dto.getEmail())) {
+                conflict = "Customer already registered with given email " + dto.getEmail();
+            } else if (existingMobileNumbers.contains(dto.getMobileNumber())) {
+                conflict = "Customer already registered with given mobile number " + dto.getMobileNumber();
+            } else if (existingDocumentNumbers.contains(dto.getDocumentNumber())) {
+                conflict = "Customer already registered with given document number " + dto.getDocumentNumber();
+            } else if (claimedEmails.contains(dto.getEmail()) || chunkEmails.contains(dto.getEmail())) {
+                conflict = "Email duplicated in request " + dto.getEmail();
+            } else if (claimedMobileNumbers.contains(dto.getMobileNumber()) || chunkMobileNumbers.contains(dto.getMobileNumber())) {
+                conflict = "Mobile number duplicated in request " + dto.getMobileNumber();
+            } else if (claimedDocumentNumbers.contains(dto.getDocumentNumber())
+                    || chunkDocumentNumbers.contains(dto.getDocumentNumber())) {
+                conflict = "Document number duplicated in request " + dto.getDocumentNumber();
+            }
+            if (conflict != null) {
+                results[i] = new BulkItemResultDto(row.index(), CustomerConstant.STATUS_409, null, conflict);
+                continue;
+            }
+            chunkEmails.add(dto.getEmail());
+            chunkMobileNumbers.add(dto.getMobileNumber());
+            chunkDocumentNumbers.add(dto.getDocumentNumber());
+            customers.add(CustomerMapper.INSTANCE.mapToCustomerRequest(dto, new Customer()));
+            positions.add(i);
         }
 
-        customerRepository.save(customer);
+        if (!customers.isEmpty()) {
+            try {
+                transactionTemplate.execute(status -> {
+                    customerRepository.saveAll(customers);
+                    customers.forEach(customer -> applicationEventPublisher.publishEvent(
+                            new CustomerChangedEvent(customer.getCustomerId(), customer)));
+                    return null;
+                });
+                claimedEmails.addAll(chunkEmails);
+                claimedMobileNumbers.addAll(chunkMobileNumbers);
+                claimedDocumentNumbers.addAll(chunkDocumentNumbers);
+                for (int i = 0; i < customers.size(); i++) {
+                    int position = positions.get(i);
+                    results[position] = new BulkItemResultDto(chunk.get(position).index(), CustomerConstant.STATUS_201,
+                            customers.get(i).getCustomerId(), CustomerConstant.MESSAGE_201);
+                }
+            } catch (DataIntegrityViolationException exception) {
+                for (int position : positions) {
+                    results[position] = new BulkItemResultDto(chunk.get(position).index(), CustomerConstant.STATUS_409,
+                            null, "Conflicts with a customer registered concurrently, retry the item");
+                }
+            }
+        }
+        return Arrays.asList(results);
     }
 
     @Transactional(readOnly = false)
     @Modifying
     @Override
-    public boolean updateCustomer(CustomerRequestDto customerRequestDto,Long customerId) {
+    public boolean updateCustomer(CustomerRequestDto customerRequestDto,Long customerId, Long expectedVersion) {
         boolean isUpdated = false;
         if(customerRequestDto !=null ){
-            Optional<Customer> optionalCustomer;
-            optionalCustomer = customerRepository.findByEmailAndCustomerIdNot(customerRequestDto.getEmail(),customerId);
-            if(optionalCustomer.isPresent()) {
-                throw new CustomerAlreadyExistsException("Customer already registered with given email "
-                        +customerRequestDto.getEmail());
-            }
-            optionalCustomer = customerRepository.findByMobileNumberAndCustomerIdNot(customerRequestDto.getMobileNumber(),customerId);
-            if(optionalCustomer.isPresent()) {
-                throw new CustomerAlreadyExistsException("Customer already registered with given mobile number "
-                        +customerRequestDto.getMobileNumber());
-            }
-            optionalCustomer = customerRepository.findByDocumentNumberAndCustomerIdNot(customerRequestDto.getDocumentNumber(),customerId);
-            if(optionalCustomer.isPresent()) {
-                throw new CustomerAlreadyExistsException("Customer already registered with given document number "
-                        +customerRequestDto.getDocumentNumber());
+            Customer customer = checkCustomerUniqueness(customerRequestDto, customerId).orElseThrow(
+                    () -> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
+            );
+            if (expectedVersion != null && !expectedVersion.equals(customer.getVersion())) {
+                throw new PreconditionFailedException("Customer", "customerId", customerId.toString());
             }
-            optionalCustomer = customerRepository.findById(customerId);
-            if(!optionalCustomer.isPresent()) {
-                throw new ResourceNotFoundException("Customer", "CustomerID", customerId.toString());
+            CustomerMapper.INSTANCE.mapToCustomerRequest(customerRequestDto, customer);
+            try {
+                customerRepository.saveAndFlush(customer);
+            } catch (DataIntegrityViolationException exception) {
+                throw toCustomerAlreadyExists(exception, customerRequestDto);
             }
-            Customer customer = CustomerMapper.mapToCustomerRequest(customerRequestDto, optionalCustomer.get());
-            customerRepository.save(customer);
+            applicationEventPublisher.publishEvent(new CustomerChangedEvent(customerId, customer));
             isUpdated = true;
         }
         return  isUpdated;
     }
 
+    /**
+     * Only the unique fields present in the patch are checked against other customers; a patch that leaves
+     * them alone reduces the lookup to loading the customer. With dynamic updates the UPDATE then lists
+     * only the columns whose value actually changed.
+     */
+    @Transactional(readOnly = false)
+    @Override
+    public boolean patchCustomer(Long customerId, JsonNode patch, Long expectedVersion) {
+        CustomerRequestDto patchedUniqueValues = new CustomerRequestDto();
+        patchedUniqueValues.setEmail(MergePatch.text(patch, "email"));
+        patchedUniqueValues.setMobileNumber(MergePatch.text(patch, "mobileNumber"));
+        patchedUniqueValues.setDocumentNumber(MergePatch.text(patch, "documentNumber"));
+        Customer customer = checkCustomerUniqueness(patchedUniqueValues, customerId).orElseThrow(
+                () -> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
+        );
+        if (expectedVersion != null && !expectedVersion.equals(customer.getVersion())) {
+            throw new PreconditionFailedException("Customer", "customerId", customerId.toString());
+        }
+        CustomerRequestDto customerRequestDto = MergePatch.apply(objectMapper, validator,
+                CustomerMapper.INSTANCE.mapToCustomerRequestDto(customer, new CustomerRequestDto()), patch);
+        CustomerMapper.INSTANCE.mapToCustomerRequest(customerRequestDto, customer);
+        try {
+            customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException exception) {
+            throw toCustomerAlreadyExists(exception, customerRequestDto);
+        }
+        applicationEventPublisher.publishEvent(new CustomerChangedEvent(customerId, customer));
+        return true;
+    }
+
+    /**
+     * Loads, in a single query, the customer being updated together with any other customer that
+     * already holds the email, mobile number or document number of the request. The unique
+     * constraints on those columns remain the final arbiter, see toCustomerAlreadyExists.
+     *
+     * @param customerRequestDto - requested customer values
+     * @param customerId - id of the customer being updated
+     * @return the customer being updated, empty when it does not exist
+     */
+    private Optional<Customer> checkCustomerUniqueness(CustomerRequestDto customerRequestDto, Long customerId) {
+        List<Customer> matches = customerRepository.findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(customerId,
+                customerRequestDto.getEmail(), customerRequestDto.getMobileNumber(), customerRequestDto.getDocumentNumber());
+        Customer current = null;
+        boolean emailTaken = false;
+        boolean mobileNumberTaken = false;
+        boolean documentNumberTaken = false;
+        for (Customer match : matches) {
+            if (match.getCustomerId().equals(customerId)) {
+                current = match;
+                continue;
+            }
+            emailTaken |= Objects.equals(match.getEmail(), customerRequestDto.getEmail());
+            mobileNumberTaken |= Objects.equals(match.getMobileNumber(), customerRequestDto.getMobileNumber());
+            documentNumberTaken |= Objects.equals(match.getDocumentNumber(), customerRequestDto.getDocumentNumber());
+        }
+        if(emailTaken) {
+            throw new CustomerAlreadyExistsException("Customer already registered with given email "
+                    +customerRequestDto.getEmail());
+        }
+        if(mobileNumberTaken) {
+            throw new CustomerAlreadyExistsException("Customer already registered with given mobile number "
+                    +customerRequestDto.getMobileNumber());
+        }
+        if(documentNumberTaken) {
+            throw new CustomerAlreadyExistsException("Customer already registered with given document number "
+                    +customerRequestDto.getDocumentNumber());
+        }
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * @param exception - violation raised when flushing the customer
+     * @param customerRequestDto - requested customer values
+     * @return the already-exists exception of the violated unique constraint, or the violation itself
+     */
+    private RuntimeException toCustomerAlreadyExists(DataIntegrityViolationException exception,
+                                                     CustomerRequestDto customerRequestDto) {
+        if (ConstraintViolations.isViolationOf(exception, CustomerConstant.UK_EMAIL)) {
+            return new CustomerAlreadyExistsException("Customer already registered with given email "
+                    +customerRequestDto.getEmail());
+        }
+        if (ConstraintViolations.isViolationOf(exception, CustomerConstant.UK_MOBILE_NUMBER)) {
+            return new CustomerAlreadyExistsException("Customer already registered with given mobile number "
+                    +customerRequestDto.getMobileNumber());
+        }
+        if (ConstraintViolations.isViolationOf(exception, CustomerConstant.UK_DOCUMENT_NUMBER)) {
+            return new CustomerAlreadyExistsException("Customer already registered with given document number "
+                    +customerRequestDto.getDocumentNumber());
+        }
+        return exception;
+    }
+
+    /**
+     * Two set-based deletes, accounts then customer, whatever the number of accounts. The customer delete
+     * count doubles as the existence check; when it is zero the transaction rolls back.
+     */
     @Transactional(readOnly = false)
     @Modifying
     @Override
     public boolean deleteCustomer(Long customerId) {
-        Customer customer = customerRepository.findById(customerId).orElseThrow(
-                () -> new ResourceNotFoundException("Customer", "customerId", customerId.toString())
-        );
         accountRepository.deleteByCustomerId(customerId);
-        customerRepository.deleteById(customer.getCustomerId());
+        if (customerRepository.deleteByCustomerId(customerId) == 0) {
+            throw new ResourceNotFoundException("Customer", "customerId", customerId.toString());
+        }
+        applicationEventPublisher.publishEvent(new CustomerChangedEvent(customerId, null));
         return true;
     }
 }
@@ -0,0 +1,53 @@
+package com.fmattaperdomo.accounts.service.impl;
+
+import com.fmattaperdomo.accounts.exception.InvalidPatchException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * JSON Merge Patch (RFC 7386) over the flat request DTOs: members present in the patch replace the current
+ * value, a null member clears it, absent members are left alone.
+ */
+final class MergePatch {
+    private MergePatch() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param current - request DTO holding the current values, updated in place
+     * @return the patched DTO, once it passes bean validation
+     */
+    static <T> T apply(ObjectMapper objectMapper, Validator validator, T current, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidPatchException("the patch must be a JSON object");
+        }
+        T patched;
+        try {
+            patched = objectMapper.updateValue(current, patch);
+        } catch (JacksonException exception) {
+            throw new InvalidPatchException(exception.getOriginalMessage());
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            throw new InvalidPatchException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return patched;
+    }
+
+    /**
+     * @return the textual value of a member present in the patch, null when it is absent or cleared
+     */
+    static String text(JsonNode patch, String member) {
+        JsonNode value = patch == null ? null : patch.get(member);
+        return value == null || value.isNull() ? null : value.asString();
+    }
+}
@@ -0,0 +1,49 @@
+-- PostgreSQL schema, applied instead of schema.sql when spring.sql.init.platform=postgresql.
+-- Searches compare lower(column) with a LIKE pattern, so the lookup columns get functional
+-- lower() indexes with varchar_pattern_ops, which serve both equality and prefix LIKE.
+
+CREATE TABLE IF NOT EXISTS customers (
+  customer_id bigint PRIMARY KEY,
+  document_type varchar(20) NOT NULL,
+  document_number varchar(50) NOT NULL,
+  name varchar(100) NOT NULL,
+  email varchar(100) NOT NULL,
+  mobile_number varchar(20) NOT NULL,
+  created_at timestamp DEFAULT NULL,
+  created_by varchar(20) DEFAULT NULL,
+  updated_at timestamp DEFAULT NULL,
+  updated_by varchar(20) DEFAULT NULL,
+  version bigint NOT NULL DEFAULT 0,
+  CONSTRAINT uk_customers_email UNIQUE (email),
+  CONSTRAINT uk_customers_mobile_number UNIQUE (mobile_number),
+  CONSTRAINT uk_customers_document_number UNIQUE (document_number)
+);
+
+CREATE TABLE IF NOT EXISTS accounts (
+  account_id bigint PRIMARY KEY,
+  customer_id bigint NOT NULL,
+  account_number bigint NOT NULL,
+  account_type varchar(100) NOT NULL,
+  branch_name varchar(100) NOT NULL,
+  account_status varchar(20) NOT NULL,
+  created_at timestamp DEFAULT NULL,
+  created_by varchar(20) DEFAULT NULL,
+  updated_at timestamp DEFAULT NULL,
+  updated_by varchar(20) DEFAULT NULL,
+  version bigint NOT NULL DEFAULT 0,
+  CONSTRAINT uk_accounts_account_number UNIQUE (account_number)
+);
+
+CREATE SEQUENCE IF NOT EXISTS customers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS accounts_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS account_number_seq START WITH 1 INCREMENT BY 1000;
+
+CREATE INDEX IF NOT EXISTS idx_customers_name_lower ON customers (lower(name) varchar_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_customers_email_lower ON customers (lower(email) varchar_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_customers_mobile_number ON customers (mobile_number varchar_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_accounts_customer_status ON accounts (customer_id, account_status);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_accounts_active_customer ON accounts (customer_id) WHERE account_status = 'Active';
+CREATE INDEX IF NOT EXISTS idx_accounts_branch_name_lower ON accounts (lower(branch_name) varchar_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_accounts_account_type_lower ON accounts (lower(account_type) varchar_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_accounts_account_status_lower ON accounts (lower(account_status) varchar_pattern_ops);
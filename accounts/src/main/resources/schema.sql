@@ -1,25 +1,44 @@
 CREATE TABLE IF NOT EXISTS `customers` (
-  `customer_id` int AUTO_INCREMENT  PRIMARY KEY,
+  `customer_id` bigint PRIMARY KEY,
   `document_type` varchar(20) NOT NULL,
   `document_number` varchar(50) NOT NULL,
   `name` varchar(100) NOT NULL,
   `email` varchar(100) NOT NULL,
   `mobile_number` varchar(20) NOT NULL,
-  `created_at` date DEFAULT NULL,
+  `created_at` timestamp DEFAULT NULL,
   `created_by` varchar(20) DEFAULT NULL,
-  `updated_at` date DEFAULT NULL,
-  `updated_by` varchar(20) DEFAULT NULL
+  `updated_at` timestamp DEFAULT NULL,
+  `updated_by` varchar(20) DEFAULT NULL,
+  `version` bigint NOT NULL DEFAULT 0,
+  CONSTRAINT `uk_customers_email` UNIQUE (`email`),
+  CONSTRAINT `uk_customers_mobile_number` UNIQUE (`mobile_number`),
+  CONSTRAINT `uk_customers_document_number` UNIQUE (`document_number`)
 );
 
 CREATE TABLE IF NOT EXISTS `accounts` (
-  `account_id` int AUTO_INCREMENT  PRIMARY KEY,
-  `customer_id` int NOT NULL,
-  `account_number` int NOT NULL,
+  `account_id` bigint PRIMARY KEY,
+  `customer_id` bigint NOT NULL,
+  `account_number` bigint NOT NULL,
   `account_type` varchar(100) NOT NULL,
   `branch_name` varchar(100) NOT NULL,
   `account_status` varchar(20) NOT NULL,
-  `created_at` date DEFAULT NULL,
+  `created_at` timestamp DEFAULT NULL,
   `created_by` varchar(20) DEFAULT NULL,
-  `updated_at` date DEFAULT NULL,
-  `updated_by` varchar(20) DEFAULT NULL
-);
\ No newline at end of file
+  `updated_at` timestamp DEFAULT NULL,
+  `updated_by` varchar(20) DEFAULT NULL,
+  `version` bigint NOT NULL DEFAULT 0,
+  `active_customer_id` bigint GENERATED ALWAYS AS (CASE WHEN `account_status` = 'Active' THEN `customer_id` END),
+  CONSTRAINT `uk_accounts_account_number` UNIQUE (`account_number`),
+  CONSTRAINT `uk_accounts_active_customer` UNIQUE (`active_customer_id`)
+);
+
+CREATE SEQUENCE IF NOT EXISTS `customers_seq` START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS `accounts_seq` START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS `account_number_seq` START WITH 1 INCREMENT BY 1000;
+
+CREATE INDEX IF NOT EXISTS `idx_customers_name` ON `customers` (`name`);
+
+CREATE INDEX IF NOT EXISTS `idx_accounts_customer_status` ON `accounts` (`customer_id`, `account_status`);
+CREATE INDEX IF NOT EXISTS `idx_accounts_branch_name` ON `accounts` (`branch_name`);
+CREATE INDEX IF NOT EXISTS `idx_accounts_account_type` ON `accounts` (`account_type`);
+CREATE INDEX IF NOT EXISTS `idx_accounts_account_status` ON `accounts` (`account_status`);
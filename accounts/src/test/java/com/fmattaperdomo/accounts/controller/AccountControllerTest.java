@@ -1,6 +1,7 @@
 package com.fmattaperdomo.accounts.controller;
 
 import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
 import com.fmattaperdomo.accounts.dto.*;
 import com.fmattaperdomo.accounts.service.AccountService;
 import org.junit.jupiter.api.Test;
@@ -8,14 +9,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.JsonNodeFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -26,17 +42,21 @@ class AccountControllerTest {
     @InjectMocks
     AccountController accountController;
 
+    private static final LocalDateTime ACCOUNT_MODIFIED = LocalDateTime.of(2026, 1, 2, 10, 0);
+
     @Mock
     private AccountService accountService;
 
     private AccountResponseDto mockAccountResponseDto() {
-        AccountResponseDto accountResponseDto = new AccountResponseDto();
-        accountResponseDto.setAccountType("Cuenta de ahorros");
-        accountResponseDto.setAccountStatus("Active");
-        accountResponseDto.setAccountNumber(1234567890L);
-        accountResponseDto.setBranchName("Bulevar Niza");
-        accountResponseDto.setAccountId(1L);
-        return accountResponseDto;
+        return new AccountResponseDto(1L, null, 1234567890L, "Cuenta de ahorros", "Bulevar Niza", "Active", null, 3L,
+                ACCOUNT_MODIFIED);
+    }
+
+    private void answerIfModified(VersionDto versionDto, AccountResponseDto accountResponseDto) {
+        when(accountService.getAccountByCustomerIdIfModified(anyLong(), any())).thenAnswer(invocation -> {
+            Predicate<VersionDto> notModified = invocation.getArgument(1);
+            return notModified.test(versionDto) ? Optional.empty() : Optional.of(accountResponseDto);
+        });
     }
 
     @Test
@@ -78,9 +98,9 @@ class AccountControllerTest {
         String branchName = "Bulevar Niza";
         List<AccountResponseDto> accountList = new ArrayList<>();
         accountList.add(mockAccountResponseDto());
-        when(accountService.getAccountsByBranchName(anyString())).thenReturn(accountList);
+        when(accountService.getAccountsByBranchName(anyString(), any(SearchMatchMode.class))).thenReturn(accountList);
 
-        ResponseEntity<List<AccountResponseDto>> response = accountController.getAccountsByBranchName(branchName);
+        ResponseEntity<List<AccountResponseDto>> response = accountController.getAccountsByBranchName(branchName, SearchMatchMode.PREFIX);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -94,9 +114,9 @@ class AccountControllerTest {
         String accountType = "Cuenta de ahorros";
         List<AccountResponseDto> accountList = new ArrayList<>();
         accountList.add(mockAccountResponseDto());
-        when(accountService.getAccountsByAccountType(anyString())).thenReturn(accountList);
+        when(accountService.getAccountsByAccountType(anyString(), any(SearchMatchMode.class))).thenReturn(accountList);
 
-        ResponseEntity<List<AccountResponseDto>> response = accountController.getAccountsByAccountType(accountType);
+        ResponseEntity<List<AccountResponseDto>> response = accountController.getAccountsByAccountType(accountType, SearchMatchMode.PREFIX);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -110,9 +130,9 @@ class AccountControllerTest {
         String accountStatus = "Active";
         List<AccountResponseDto> accountList = new ArrayList<>();
         accountList.add(mockAccountResponseDto());
-        when(accountService.getAccountsByAccountStatus(anyString())).thenReturn(accountList);
+        when(accountService.getAccountsByAccountStatus(anyString(), any(SearchMatchMode.class))).thenReturn(accountList);
 
-        ResponseEntity<List<AccountResponseDto>> response = accountController.getAccountsByAccountStatus(accountStatus);
+        ResponseEntity<List<AccountResponseDto>> response = accountController.getAccountsByAccountStatus(accountStatus, SearchMatchMode.PREFIX);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -125,11 +145,16 @@ class AccountControllerTest {
     void getAccountByCustomerId() {
         Long customerId = 1L;
         AccountResponseDto accountResponseDto = mockAccountResponseDto();
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
         when(accountService.getAccountByCustomerId(anyLong())).thenReturn(accountResponseDto);
 
-        ResponseEntity<AccountResponseDto> response = accountController.getAccountByCustomerId(customerId);
+        ResponseEntity<AccountResponseDto> response = accountController.getAccountByCustomerId(customerId,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/accounts"), servletResponse));
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(servletResponse.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1.3\"");
+        assertThat(servletResponse.getDateHeader(HttpHeaders.LAST_MODIFIED))
+                .isEqualTo(ACCOUNT_MODIFIED.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getAccountId()).isEqualTo(1L);
         assertThat(response.getBody().getAccountType()).isEqualTo("Cuenta de ahorros");
@@ -137,21 +162,53 @@ class AccountControllerTest {
         assertThat(response.getBody().getBranchName()).isEqualTo("Bulevar Niza");
     }
 
+    @Test
+    void getAccountByCustomerIdNotModified() {
+        Long customerId = 1L;
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/accounts");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1.3\"");
+        answerIfModified(new VersionDto(1L, 3L, ACCOUNT_MODIFIED), mockAccountResponseDto());
+
+        ResponseEntity<AccountResponseDto> response = accountController.getAccountByCustomerId(customerId,
+                new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        verify(accountService, never()).getAccountByCustomerId(anyLong());
+    }
+
+    @Test
+    void getAccountByCustomerIdModified() {
+        Long customerId = 1L;
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/accounts");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1.2\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        answerIfModified(new VersionDto(1L, 3L, ACCOUNT_MODIFIED), mockAccountResponseDto());
+
+        ResponseEntity<AccountResponseDto> response = accountController.getAccountByCustomerId(customerId,
+                new ServletWebRequest(servletRequest, servletResponse));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(servletResponse.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1.3\"");
+        assertThat(response.getBody().getVersion()).isEqualTo(3L);
+    }
+
     @Test
     void getAccounts() {
         List<AccountResponseDto> accountList = new ArrayList<>();
         accountList.add(mockAccountResponseDto());
-        when(accountService.getAccounts()).thenReturn(accountList);
+        when(accountService.getAccounts(null, 50)).thenReturn(new PageResponseDto<>(accountList, 1, null));
 
-        ResponseEntity<List<AccountResponseDto>> response = accountController.getAccounts();
+        ResponseEntity<PageResponseDto<AccountResponseDto>> response = accountController.getAccounts(null, 50);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().size()).isEqualTo(1);
-        assertThat(response.getBody().get(0).getAccountId()).isEqualTo(1L);
-        assertThat(response.getBody().get(0).getAccountType()).isEqualTo("Cuenta de ahorros");
-        assertThat(response.getBody().get(0).getAccountStatus()).isEqualTo("Active");
-        assertThat(response.getBody().get(0).getBranchName()).isEqualTo("Bulevar Niza");
+        assertThat(response.getBody().getContent().size()).isEqualTo(1);
+        assertThat(response.getBody().getContent().get(0).getAccountId()).isEqualTo(1L);
+        assertThat(response.getBody().getContent().get(0).getAccountType()).isEqualTo("Cuenta de ahorros");
+        assertThat(response.getBody().getContent().get(0).getAccountStatus()).isEqualTo("Active");
+        assertThat(response.getBody().getContent().get(0).getBranchName()).isEqualTo("Bulevar Niza");
+        assertThat(response.getBody().getNext()).isNull();
     }
 
     @Test
@@ -163,9 +220,9 @@ class AccountControllerTest {
         accountUpdateRequestDto.setBranchName("Bulevar Niza");
         accountUpdateRequestDto.setAccountStatus("Active");
 
-        when(accountService.updateAccount(any(AccountUpdateRequestDto.class), anyLong())).thenReturn(true);
+        when(accountService.updateAccount(any(AccountUpdateRequestDto.class), anyLong(), any())).thenReturn(true);
 
-        ResponseEntity<ResponseDto> response = accountController.updateAccount(accountUpdateRequestDto, accountId);
+        ResponseEntity<ResponseDto> response = accountController.updateAccount(accountUpdateRequestDto, accountId, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -182,9 +239,9 @@ class AccountControllerTest {
         accountUpdateRequestDto.setBranchName("Bulevar Niza");
         accountUpdateRequestDto.setAccountStatus("Active");
 
-        when(accountService.updateAccount(any(AccountUpdateRequestDto.class), anyLong())).thenReturn(false);
+        when(accountService.updateAccount(any(AccountUpdateRequestDto.class), anyLong(), any())).thenReturn(false);
 
-        ResponseEntity<ResponseDto> response = accountController.updateAccount(accountUpdateRequestDto, accountId);
+        ResponseEntity<ResponseDto> response = accountController.updateAccount(accountUpdateRequestDto, accountId, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.EXPECTATION_FAILED);
         assertThat(response.getBody()).isNotNull();
@@ -192,6 +249,32 @@ class AccountControllerTest {
         assertThat(response.getBody().getStatusMsg()).isEqualTo(AccountConstant.MESSAGE_417_UPDATE);
     }
 
+    @Test
+    void patchAccount() {
+        Long accountId = 1L;
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("branchName", "Castellana");
+        when(accountService.patchAccount(accountId, patch, null)).thenReturn(true);
+
+        ResponseEntity<ResponseDto> response = accountController.patchAccount(patch, accountId, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatusCode()).isEqualTo(AccountConstant.STATUS_200);
+    }
+
+    @Test
+    void updateAccountStatus() {
+        AccountStatusUpdateRequestDto accountStatusUpdateRequestDto =
+                new AccountStatusUpdateRequestDto("Inactive", "Bulevar Niza", null, null);
+        when(accountService.updateAccountStatus(accountStatusUpdateRequestDto))
+                .thenReturn(new AccountStatusUpdateResponseDto(3, 2));
+
+        ResponseEntity<AccountStatusUpdateResponseDto> response = accountController.updateAccountStatus(accountStatusUpdateRequestDto);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(new AccountStatusUpdateResponseDto(3, 2));
+    }
+
     @Test
     void deleteAccount() {
         Long accountId = 1L;
@@ -217,4 +300,29 @@ class AccountControllerTest {
         assertThat(response.getBody().getStatusCode()).isEqualTo(AccountConstant.STATUS_417);
         assertThat(response.getBody().getStatusMsg()).isEqualTo(AccountConstant.MESSAGE_417_DELETE);
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportAccounts() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        ResponseEntity<StreamingResponseBody> response = accountController.exportAccounts();
+        response.getBody().writeTo(outputStream);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        verify(accountService).exportAccounts(outputStream);
+    }
+
+    @Test
+    void createAccounts() {
+        List<AccountCreateRequestDto> accountCreateRequestDtos = List.of(new AccountCreateRequestDto());
+        BulkResponseDto bulkResponseDto = new BulkResponseDto(1, 0,
+                List.of(new BulkItemResultDto(0, AccountConstant.STATUS_201, 1L, AccountConstant.MESSAGE_201)));
+        when(accountService.createAccounts(accountCreateRequestDtos)).thenReturn(bulkResponseDto);
+
+        ResponseEntity<BulkResponseDto> response = accountController.createAccounts(accountCreateRequestDtos);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(bulkResponseDto);
+    }
+}
@@ -0,0 +1,102 @@
+package com.fmattaperdomo.accounts.controller;
+
+import com.fmattaperdomo.accounts.dto.AccountCreateRequestDto;
+import com.fmattaperdomo.accounts.dto.CustomerRequestDto;
+import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import com.fmattaperdomo.accounts.service.AccountService;
+import com.fmattaperdomo.accounts.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the connections taken from the main pool while the account export runs: the export reads
+ * through its own pool, so a slow client never holds a connection of the main pool.
+ */
+@SpringBootTest
+class AccountExportConnectionTest {
+    private static final AtomicLong CHECKOUTS = new AtomicLong();
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                CHECKOUTS.incrementAndGet();
+                                return super.getConnection();
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.findAll().stream()
+                .filter(customer -> "4445556666".equals(customer.getMobileNumber()))
+                .forEach(customer -> customerService.deleteCustomer(customer.getCustomerId()));
+        CustomerRequestDto customerRequestDto = new CustomerRequestDto();
+        customerRequestDto.setDocumentType("CC");
+        customerRequestDto.setDocumentNumber("44455566");
+        customerRequestDto.setName("Cliente Exportado");
+        customerRequestDto.setEmail("exportado@correo.com");
+        customerRequestDto.setMobileNumber("4445556666");
+        customerService.createCustomer(customerRequestDto);
+        customerId = customerRepository.findAll().stream()
+                .filter(customer -> "4445556666".equals(customer.getMobileNumber()))
+                .findFirst().orElseThrow().getCustomerId();
+        AccountCreateRequestDto accountCreateRequestDto = new AccountCreateRequestDto();
+        accountCreateRequestDto.setCustomerId(customerId);
+        accountCreateRequestDto.setAccountType("Savings");
+        accountCreateRequestDto.setBranchName("Bulevar Niza");
+        accountService.createAccount(accountCreateRequestDto);
+    }
+
+    @Test
+    void exportAccountsTakesNoConnectionFromTheMainPool() throws Exception {
+        // Arrange
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long before = CHECKOUTS.get();
+
+        // Act
+        accountService.exportAccounts(outputStream);
+
+        // Assert
+        assertThat(outputStream.toString(StandardCharsets.UTF_8))
+                .contains("\"customerId\":" + customerId)
+                .contains("\"customerName\":\"Cliente Exportado\"");
+        assertThat(CHECKOUTS.get() - before).isZero();
+    }
+}
@@ -0,0 +1,177 @@
+package com.fmattaperdomo.accounts.controller;
+
+import com.fmattaperdomo.accounts.dto.AccountCreateRequestDto;
+import com.fmattaperdomo.accounts.dto.CustomerRequestDto;
+import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import com.fmattaperdomo.accounts.service.AccountService;
+import com.fmattaperdomo.accounts.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the connections taken from the pool, and the statements prepared on them, by conditional GETs with
+ * the caches disabled, so every request reaches the database. Every request takes a single connection; a
+ * 304 runs only the versions query, and a stale client copy adds the body query on the same connection.
+ */
+@SpringBootTest(properties = "spring.cache.type=none")
+class ConditionalGetConnectionTest {
+    private static final AtomicLong CHECKOUTS = new AtomicLong();
+    private static final AtomicLong STATEMENTS = new AtomicLong();
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                CHECKOUTS.incrementAndGet();
+                                return countingStatements(super.getConnection());
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private static Connection countingStatements(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("prepareStatement".equals(method.getName())) {
+                        STATEMENTS.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                });
+    }
+
+    @Autowired
+    private CustomerController customerController;
+    @Autowired
+    private AccountController accountController;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.findAll().stream()
+                .filter(customer -> "5556667777".equals(customer.getMobileNumber()))
+                .forEach(customer -> customerService.deleteCustomer(customer.getCustomerId()));
+        CustomerRequestDto customerRequestDto = new CustomerRequestDto();
+        customerRequestDto.setDocumentType("CC");
+        customerRequestDto.setDocumentNumber("55566677");
+        customerRequestDto.setName("Cliente Condicional");
+        customerRequestDto.setEmail("condicional@correo.com");
+        customerRequestDto.setMobileNumber("5556667777");
+        customerService.createCustomer(customerRequestDto);
+        customerId = customerRepository.findAll().stream()
+                .filter(customer -> "5556667777".equals(customer.getMobileNumber()))
+                .findFirst().orElseThrow().getCustomerId();
+        AccountCreateRequestDto accountCreateRequestDto = new AccountCreateRequestDto();
+        accountCreateRequestDto.setCustomerId(customerId);
+        accountCreateRequestDto.setAccountType("Savings");
+        accountCreateRequestDto.setBranchName("Bulevar Niza");
+        accountService.createAccount(accountCreateRequestDto);
+    }
+
+    @Test
+    void getCustomerByIdTakesOneConnection() {
+        // Arrange
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        long before = CHECKOUTS.get();
+
+        // Act
+        HttpStatus firstStatus = (HttpStatus) customerController.getCustomerById(customerId,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/customers"), firstResponse)).getStatusCode();
+        long afterFirst = CHECKOUTS.get();
+        long statementsBefore = STATEMENTS.get();
+        HttpStatus conditionalStatus = (HttpStatus) customerController.getCustomerById(customerId,
+                conditionalRequest("/api/customers", firstResponse.getHeader(HttpHeaders.ETAG))).getStatusCode();
+        long afterConditional = CHECKOUTS.get();
+        long statementsAfterConditional = STATEMENTS.get();
+        HttpStatus staleStatus = (HttpStatus) customerController.getCustomerById(customerId,
+                conditionalRequest("/api/customers", "\"" + customerId + ".-1\"")).getStatusCode();
+
+        // Assert
+        assertThat(firstStatus).isEqualTo(HttpStatus.OK);
+        assertThat(firstResponse.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+        assertThat(conditionalStatus).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(staleStatus).isEqualTo(HttpStatus.OK);
+        assertThat(afterFirst - before).isEqualTo(1);
+        assertThat(afterConditional - afterFirst).isEqualTo(1);
+        assertThat(CHECKOUTS.get() - afterConditional).isEqualTo(1);
+        assertThat(statementsAfterConditional - statementsBefore).isEqualTo(1);
+        assertThat(STATEMENTS.get() - statementsAfterConditional).isEqualTo(2);
+    }
+
+    @Test
+    void getAccountByCustomerIdTakesOneConnection() {
+        // Arrange
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        long before = CHECKOUTS.get();
+
+        // Act
+        HttpStatus firstStatus = (HttpStatus) accountController.getAccountByCustomerId(customerId,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/accounts"), firstResponse)).getStatusCode();
+        long afterFirst = CHECKOUTS.get();
+        long statementsBefore = STATEMENTS.get();
+        HttpStatus conditionalStatus = (HttpStatus) accountController.getAccountByCustomerId(customerId,
+                conditionalRequest("/api/accounts", firstResponse.getHeader(HttpHeaders.ETAG))).getStatusCode();
+        long afterConditional = CHECKOUTS.get();
+        long statementsAfterConditional = STATEMENTS.get();
+        HttpStatus staleStatus = (HttpStatus) accountController.getAccountByCustomerId(customerId,
+                conditionalRequest("/api/accounts", "\"0.-1\"")).getStatusCode();
+
+        // Assert
+        assertThat(firstStatus).isEqualTo(HttpStatus.OK);
+        assertThat(firstResponse.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+        assertThat(conditionalStatus).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(staleStatus).isEqualTo(HttpStatus.OK);
+        assertThat(afterFirst - before).isEqualTo(1);
+        assertThat(afterConditional - afterFirst).isEqualTo(1);
+        assertThat(CHECKOUTS.get() - afterConditional).isEqualTo(1);
+        assertThat(statementsAfterConditional - statementsBefore).isEqualTo(1);
+        assertThat(STATEMENTS.get() - statementsAfterConditional).isEqualTo(2);
+    }
+
+    private static ServletWebRequest conditionalRequest(String uri, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
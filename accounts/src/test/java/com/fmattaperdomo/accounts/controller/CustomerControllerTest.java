@@ -3,13 +3,20 @@ package com.fmattaperdomo.accounts.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 
 import com.fmattaperdomo.accounts.constant.CustomerConstant;
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
 import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+import com.fmattaperdomo.accounts.dto.BulkItemResultDto;
+import com.fmattaperdomo.accounts.dto.BulkResponseDto;
 import com.fmattaperdomo.accounts.dto.CustomerRequestDto;
 import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
+import com.fmattaperdomo.accounts.dto.CustomerVersionsDto;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
 import com.fmattaperdomo.accounts.dto.ResponseDto;
 import com.fmattaperdomo.accounts.entity.Customer;
 import com.fmattaperdomo.accounts.mapper.CustomerMapper;
@@ -19,40 +26,43 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.JsonNodeFactory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerControllerTest {
     @InjectMocks
     CustomerController customerController;
 
+    private static final LocalDateTime CUSTOMER_MODIFIED = LocalDateTime.of(2026, 1, 1, 10, 0);
+    private static final LocalDateTime ACCOUNT_MODIFIED = LocalDateTime.of(2026, 1, 2, 10, 0);
+
     @Mock
     private CustomerService customerService;
 
     private CustomerResponseDto buildCustomerResponseDto() {
-        CustomerResponseDto customerResponseDto = new CustomerResponseDto();
-        customerResponseDto.setCustomerId(1L);
-        customerResponseDto.setDocumentType("CC");
-        customerResponseDto.setDocumentNumber("11122233");
-        customerResponseDto.setName("Cliente 1");
-        customerResponseDto.setEmail("cliente1@correo.com");
-        customerResponseDto.setMobileNumber("1112223333");
-
-        AccountResponseDto accountResponseDto = new AccountResponseDto();
-        accountResponseDto.setAccountId(1L);
-        accountResponseDto.setCustomerId(1L);
-        accountResponseDto.setAccountNumber(1234567890L);
-        accountResponseDto.setAccountType("Savings");
-        accountResponseDto.setBranchName("Main Branch");
-        accountResponseDto.setAccountStatus("Active");
-        accountResponseDto.setCustomerName("Cliente 1");
+        return new CustomerResponseDto(1L, "CC", "11122233", "Cliente 1", "cliente1@correo.com", "1112223333", 0L,
+                CUSTOMER_MODIFIED, 1L, 1234567890L, "Savings", "Main Branch", "Active", 0L, ACCOUNT_MODIFIED);
+    }
 
-        customerResponseDto.setAccountResponseDto(accountResponseDto);
-        return customerResponseDto;
+    private void answerIfModified(CustomerVersionsDto customerVersionsDto, CustomerResponseDto customerResponseDto) {
+        when(customerService.getCustomerByIdIfModified(anyLong(), any())).thenAnswer(invocation -> {
+            Predicate<CustomerVersionsDto> notModified = invocation.getArgument(1);
+            return notModified.test(customerVersionsDto) ? Optional.empty() : Optional.of(customerResponseDto);
+        });
     }
 
     @Test
@@ -65,7 +75,7 @@ class CustomerControllerTest {
         customer.setEmail("cliente1@correo.com");
         customer.setMobileNumber("1112223333");
 
-        CustomerRequestDto customerRequestDto = CustomerMapper.mapToCustomerRequestDto(customer, new CustomerRequestDto());
+        CustomerRequestDto customerRequestDto = CustomerMapper.INSTANCE.mapToCustomerRequestDto(customer, new CustomerRequestDto());
 
         doNothing().when(customerService).createCustomer(any(CustomerRequestDto.class));
 
@@ -81,11 +91,16 @@ class CustomerControllerTest {
     void getCustomerById() {
         Long customerId = 1L;
         CustomerResponseDto customerResponseDto = buildCustomerResponseDto();
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
         when(customerService.getCustomerById(anyLong())).thenReturn(customerResponseDto);
 
-        ResponseEntity<CustomerResponseDto> response = customerController.getCustomerById(customerId);
+        ResponseEntity<CustomerResponseDto> response = customerController.getCustomerById(customerId,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/customers/1"), servletResponse));
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(servletResponse.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1.0-1.0\"");
+        assertThat(servletResponse.getDateHeader(HttpHeaders.LAST_MODIFIED))
+                .isEqualTo(ACCOUNT_MODIFIED.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getCustomerId()).isEqualTo(1L);
         assertThat(response.getBody().getName()).isEqualTo("Cliente 1");
@@ -95,33 +110,84 @@ class CustomerControllerTest {
     }
 
     @Test
-    void getCustomerByMobileNumber() {
+    void getCustomerByIdNotModified() {
+        Long customerId = 1L;
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/customers/1");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1.0-1.0\"");
+        answerIfModified(new CustomerVersionsDto(1L, 0L, CUSTOMER_MODIFIED, 1L, 0L, ACCOUNT_MODIFIED),
+                buildCustomerResponseDto());
+
+        ResponseEntity<CustomerResponseDto> response = customerController.getCustomerById(customerId,
+                new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        verify(customerService, never()).getCustomerById(anyLong());
+    }
+
+    @Test
+    void getCustomerByIdNotModifiedSince() {
+        Long customerId = 1L;
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/customers/1");
+        servletRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE,
+                ACCOUNT_MODIFIED.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        answerIfModified(new CustomerVersionsDto(1L, 0L, CUSTOMER_MODIFIED, 1L, 0L, ACCOUNT_MODIFIED),
+                buildCustomerResponseDto());
+
+        ResponseEntity<CustomerResponseDto> response = customerController.getCustomerById(customerId,
+                new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void getCustomerByIdReopenedAccountIsModified() {
+        Long customerId = 1L;
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/customers/1");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1.0-1.0\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        // the account was closed and a new one opened, which starts again at version 0
+        answerIfModified(new CustomerVersionsDto(1L, 0L, CUSTOMER_MODIFIED, 2L, 0L, ACCOUNT_MODIFIED),
+                new CustomerResponseDto(1L, "CC", "11122233", "Cliente 1", "cliente1@correo.com", "1112223333", 0L,
+                        CUSTOMER_MODIFIED, 2L, 1234567891L, "Savings", "Main Branch", "Active", 0L, ACCOUNT_MODIFIED));
+
+        ResponseEntity<CustomerResponseDto> response = customerController.getCustomerById(customerId,
+                new ServletWebRequest(servletRequest, servletResponse));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(servletResponse.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1.0-2.0\"");
+        assertThat(response.getBody().getAccountResponseDto().getAccountId()).isEqualTo(2L);
+    }
+
+    @Test
+    void getCustomersByMobileNumber() {
         String mobileNumber = "1112223333";
         CustomerResponseDto customerResponseDto = buildCustomerResponseDto();
-        when(customerService.getCustomerByMobileNumber("1112223333")).thenReturn(customerResponseDto);
+        when(customerService.getCustomersByMobileNumber("1112223333", SearchMatchMode.EXACT)).thenReturn(List.of(customerResponseDto));
 
-        ResponseEntity<CustomerResponseDto> response = customerController.getCustomerByMobileNumber(mobileNumber);
+        ResponseEntity<List<CustomerResponseDto>> response = customerController.getCustomersByMobileNumber(mobileNumber, SearchMatchMode.EXACT);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().getCustomerId()).isEqualTo(1L);
-        assertThat(response.getBody().getMobileNumber()).isEqualTo("1112223333");
-        assertThat(response.getBody().getName()).isEqualTo("Cliente 1");
+        assertThat(response.getBody().get(0).getCustomerId()).isEqualTo(1L);
+        assertThat(response.getBody().get(0).getMobileNumber()).isEqualTo("1112223333");
+        assertThat(response.getBody().get(0).getName()).isEqualTo("Cliente 1");
     }
 
     @Test
-    void getCustomerByEmail() {
+    void getCustomersByEmail() {
         String email = "cliente1@correo.com";
         CustomerResponseDto customerResponseDto = buildCustomerResponseDto();
-        when(customerService.getCustomerByEmail("cliente1@correo.com")).thenReturn(customerResponseDto);
+        when(customerService.getCustomersByEmail("cliente1@correo.com", SearchMatchMode.PREFIX)).thenReturn(List.of(customerResponseDto));
 
-        ResponseEntity<CustomerResponseDto> response = customerController.getCustomerByEmail(email);
+        ResponseEntity<List<CustomerResponseDto>> response = customerController.getCustomersByEmail(email, SearchMatchMode.PREFIX);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().getCustomerId()).isEqualTo(1L);
-        assertThat(response.getBody().getEmail()).isEqualTo("cliente1@correo.com");
-        assertThat(response.getBody().getName()).isEqualTo("Cliente 1");
+        assertThat(response.getBody().get(0).getCustomerId()).isEqualTo(1L);
+        assertThat(response.getBody().get(0).getEmail()).isEqualTo("cliente1@correo.com");
+        assertThat(response.getBody().get(0).getName()).isEqualTo("Cliente 1");
     }
 
     @Test
@@ -129,18 +195,18 @@ class CustomerControllerTest {
         List<CustomerResponseDto> customerResponseDtoList = new ArrayList<>();
         CustomerResponseDto customerResponseDto = buildCustomerResponseDto();
         customerResponseDtoList.add(customerResponseDto);
-        when(customerService.getCustomers()).thenReturn(customerResponseDtoList);
+        when(customerService.getCustomers(null, 50)).thenReturn(new PageResponseDto<>(customerResponseDtoList, 1, null));
 
-        ResponseEntity<List<CustomerResponseDto>> response = customerController.getCustomer();
+        ResponseEntity<PageResponseDto<CustomerResponseDto>> response = customerController.getCustomers(null, 50);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().size()).isEqualTo(1);
-        assertThat(response.getBody().get(0).getCustomerId()).isEqualTo(1L);
-        assertThat(response.getBody().get(0).getName()).isEqualTo("Cliente 1");
-        assertThat(response.getBody().get(0).getEmail()).isEqualTo("cliente1@correo.com");
-        assertThat(response.getBody().get(0).getMobileNumber()).isEqualTo("1112223333");
-        assertThat(response.getBody().get(0).getAccountResponseDto()).isNotNull();
+        assertThat(response.getBody().getContent().size()).isEqualTo(1);
+        assertThat(response.getBody().getContent().get(0).getCustomerId()).isEqualTo(1L);
+        assertThat(response.getBody().getContent().get(0).getName()).isEqualTo("Cliente 1");
+        assertThat(response.getBody().getContent().get(0).getEmail()).isEqualTo("cliente1@correo.com");
+        assertThat(response.getBody().getContent().get(0).getMobileNumber()).isEqualTo("1112223333");
+        assertThat(response.getBody().getContent().get(0).getAccountResponseDto()).isNotNull();
     }
 
     @Test
@@ -153,9 +219,9 @@ class CustomerControllerTest {
         customerRequestDto.setEmail("cliente1@correo.com");
         customerRequestDto.setMobileNumber("1112223333");
 
-        when(customerService.updateCustomer(any(CustomerRequestDto.class), anyLong())).thenReturn(true);
+        when(customerService.updateCustomer(any(CustomerRequestDto.class), anyLong(), any())).thenReturn(true);
 
-        ResponseEntity<ResponseDto> response = customerController.updateCustomer(customerRequestDto, customerId);
+        ResponseEntity<ResponseDto> response = customerController.updateCustomer(customerRequestDto, customerId, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -163,6 +229,33 @@ class CustomerControllerTest {
         assertThat(response.getBody().getStatusMsg()).isEqualTo(CustomerConstant.MESSAGE_200);
     }
 
+    @Test
+    void updateCustomerIfMatch() {
+        Long customerId = 1L;
+        CustomerRequestDto customerRequestDto = new CustomerRequestDto();
+        customerRequestDto.setName("Cliente 1");
+
+        when(customerService.updateCustomer(any(CustomerRequestDto.class), anyLong(), any())).thenReturn(true);
+
+        ResponseEntity<ResponseDto> response = customerController.updateCustomer(customerRequestDto, customerId, "\"1.2-1.5\"");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(customerService).updateCustomer(customerRequestDto, customerId, 2L);
+    }
+
+    @Test
+    void updateCustomerIfMatchOtherCustomer() {
+        Long customerId = 1L;
+        CustomerRequestDto customerRequestDto = new CustomerRequestDto();
+        customerRequestDto.setName("Cliente 1");
+
+        when(customerService.updateCustomer(any(CustomerRequestDto.class), anyLong(), any())).thenReturn(true);
+
+        customerController.updateCustomer(customerRequestDto, customerId, "\"7.2\"");
+
+        verify(customerService).updateCustomer(customerRequestDto, customerId, -1L);
+    }
+
     @Test
     void updateCustomerFailure() {
         Long customerId = 1L;
@@ -173,9 +266,9 @@ class CustomerControllerTest {
         customerRequestDto.setEmail("cliente1@correo.com");
         customerRequestDto.setMobileNumber("1112223333");
 
-        when(customerService.updateCustomer(any(CustomerRequestDto.class), anyLong())).thenReturn(false);
+        when(customerService.updateCustomer(any(CustomerRequestDto.class), anyLong(), any())).thenReturn(false);
 
-        ResponseEntity<ResponseDto> response = customerController.updateCustomer(customerRequestDto, customerId);
+        ResponseEntity<ResponseDto> response = customerController.updateCustomer(customerRequestDto, customerId, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.EXPECTATION_FAILED);
         assertThat(response.getBody()).isNotNull();
@@ -183,6 +276,19 @@ class CustomerControllerTest {
         assertThat(response.getBody().getStatusMsg()).isEqualTo(CustomerConstant.MESSAGE_417_UPDATE);
     }
 
+    @Test
+    void patchCustomerIfMatch() {
+        Long customerId = 1L;
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("name", "Cliente Nuevo");
+        when(customerService.patchCustomer(customerId, patch, 3L)).thenReturn(true);
+
+        ResponseEntity<ResponseDto> response = customerController.patchCustomer(patch, customerId, "\"1.3-1.7\"");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatusCode()).isEqualTo(CustomerConstant.STATUS_200);
+    }
+
     @Test
     void deleteCustomer() {
         Long customerId = 1L;
@@ -208,4 +314,17 @@ class CustomerControllerTest {
         assertThat(response.getBody().getStatusCode()).isEqualTo(CustomerConstant.STATUS_417);
         assertThat(response.getBody().getStatusMsg()).isEqualTo(CustomerConstant.MESSAGE_417_DELETE);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createCustomers() {
+        List<CustomerRequestDto> customerRequestDtos = List.of(new CustomerRequestDto());
+        BulkResponseDto bulkResponseDto = new BulkResponseDto(1, 0,
+                List.of(new BulkItemResultDto(0, CustomerConstant.STATUS_201, 1L, CustomerConstant.MESSAGE_201)));
+        when(customerService.createCustomers(customerRequestDtos)).thenReturn(bulkResponseDto);
+
+        ResponseEntity<BulkResponseDto> response = customerController.createCustomers(customerRequestDtos);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(bulkResponseDto);
+    }
+}
@@ -0,0 +1,70 @@
+package com.fmattaperdomo.accounts.event;
+
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.constant.CustomerConstant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheEvictionListenerTest {
+
+    private CaffeineCacheManager cacheManager;
+
+    private CacheEvictionListener cacheEvictionListener;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(CustomerConstant.CACHE_NAME, AccountConstant.CACHE_NAME);
+        cacheEvictionListener = new CacheEvictionListener(cacheManager);
+    }
+
+    @Test
+    void onCustomerChanged_EvictsBothViews() {
+        // Arrange
+        cacheManager.getCache(CustomerConstant.CACHE_NAME).put(1L, "customer");
+        cacheManager.getCache(AccountConstant.CACHE_NAME).put(1L, "account");
+
+        // Act
+        cacheEvictionListener.onCustomerChanged(new CustomerChangedEvent(1L, null));
+
+        // Assert
+        assertThat(cacheManager.getCache(CustomerConstant.CACHE_NAME).get(1L)).isNull();
+        assertThat(cacheManager.getCache(AccountConstant.CACHE_NAME).get(1L)).isNull();
+    }
+
+    @Test
+    @Timeout(10)
+    void onAccountChanged_RemovesStateLoadedBeforeTheCommit() throws Exception {
+        // Arrange
+        Cache cache = cacheManager.getCache(AccountConstant.CACHE_NAME);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        CompletableFuture<Object> staleRead = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loading.countDown();
+            committed.await();
+            return "state before the commit";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act
+        Thread eviction = new Thread(() -> cacheEvictionListener.onAccountChanged(new AccountChangedEvent(1L)));
+        eviction.start();
+        while (eviction.getState() == Thread.State.NEW || eviction.getState() == Thread.State.RUNNABLE) {
+            Thread.onSpinWait();
+        }
+        committed.countDown();
+        eviction.join(TimeUnit.SECONDS.toMillis(5));
+
+        // Assert
+        assertThat(staleRead.get(5, TimeUnit.SECONDS)).isEqualTo("state before the commit");
+        assertThat(cache.get(1L)).isNull();
+    }
+}
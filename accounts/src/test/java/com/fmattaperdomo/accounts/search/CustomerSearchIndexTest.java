@@ -0,0 +1,118 @@
+package com.fmattaperdomo.accounts.search;
+
+import com.fmattaperdomo.accounts.entity.Customer;
+import com.fmattaperdomo.accounts.event.CustomerChangedEvent;
+import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerSearchIndexTest {
+
+    @InjectMocks
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private Customer buildCustomer(Long customerId, String name, String email, String mobileNumber) {
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setDocumentType("CC");
+        customer.setDocumentNumber("1112223" + customerId);
+        customer.setName(name);
+        customer.setEmail(email);
+        customer.setMobileNumber(mobileNumber);
+        return customer;
+    }
+
+    @BeforeEach
+    void rebuild() {
+        // Arrange
+        when(customerRepository.findByCustomerIdGreaterThanOrderByCustomerIdAsc(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(
+                        buildCustomer(1L, "Pepito Perez", "pperez@correo.com", "3204445555"),
+                        buildCustomer(2L, "Maria Lopez", "mlopez@correo.com", "3114445555")));
+
+        customerSearchIndex.rebuild();
+    }
+
+    @Test
+    void findCandidates() {
+        // Act & Assert
+        assertThat(customerSearchIndex.isReady()).isTrue();
+        assertThat(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.NAME, "PEREZ")).contains(Set.of(1L));
+        assertThat(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.EMAIL, "@correo")).contains(Set.of(1L, 2L));
+        assertThat(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.MOBILE_NUMBER, "4445555")).contains(Set.of(1L, 2L));
+        assertThat(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.NAME, "gonzalez")).contains(Set.of());
+    }
+
+    @Test
+    void findCandidates_ShortQuery() {
+        // Act & Assert
+        assertThat(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.NAME, "pe")).isEmpty();
+    }
+
+    @Test
+    void onCustomerChanged_Update() {
+        // Arrange
+        Customer customer = buildCustomer(2L, "Maria Gomez", "mgomez@correo.com", "3114445555");
+
+        // Act
+        customerSearchIndex.onCustomerChanged(new CustomerChangedEvent(2L, customer));
+
+        // Assert
+        assertThat(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.NAME, "lopez")).contains(Set.of());
+        assertThat(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.NAME, "gomez")).contains(Set.of(2L));
+    }
+
+    @Test
+    void onCustomerChanged_Delete() {
+        // Act
+        customerSearchIndex.onCustomerChanged(new CustomerChangedEvent(1L, null));
+
+        // Assert
+        assertThat(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.NAME, "perez")).contains(Set.of());
+        assertThat(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.EMAIL, "correo")).contains(Set.of(2L));
+    }
+
+    @Test
+    void rebuild_KeepsChangesCommittedWhileRunning() {
+        // Arrange
+        CustomerSearchIndex index = new CustomerSearchIndex(customerRepository);
+        Customer stale = buildCustomer(1L, "Pepito Perez", "pperez@correo.com", "3204445555");
+        stale.setVersion(0L);
+        Customer deleted = buildCustomer(2L, "Maria Lopez", "mlopez@correo.com", "3114445555");
+        deleted.setVersion(0L);
+        Customer updated = buildCustomer(1L, "Pepito Gomez", "pgomez@correo.com", "3204445555");
+        updated.setVersion(1L);
+        when(customerRepository.findByCustomerIdGreaterThanOrderByCustomerIdAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    // both changes commit after the page was read
+                    index.onCustomerChanged(new CustomerChangedEvent(1L, updated));
+                    index.onCustomerChanged(new CustomerChangedEvent(2L, null));
+                    return List.of(stale, deleted);
+                });
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertThat(index.findCandidates(CustomerSearchIndex.Field.NAME, "gomez")).contains(Set.of(1L));
+        assertThat(index.findCandidates(CustomerSearchIndex.Field.NAME, "perez")).contains(Set.of());
+        assertThat(index.findCandidates(CustomerSearchIndex.Field.NAME, "lopez")).contains(Set.of());
+    }
+}
@@ -0,0 +1,110 @@
+package com.fmattaperdomo.accounts.service.impl;
+
+import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberServiceImplTest {
+
+    @InjectMocks
+    private AccountNumberServiceImpl accountNumberService;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Test
+    void nextAccountNumber_AppendsLuhnCheckDigit() {
+        // Arrange
+        when(accountRepository.reserveAccountNumberBlock()).thenReturn(1L);
+
+        // Act
+        long accountNumber = accountNumberService.nextAccountNumber();
+
+        // Assert
+        assertEquals(1000000016L, accountNumber);
+        assertTrue(isLuhnValid(accountNumber));
+    }
+
+    @Test
+    void nextAccountNumber_ReservesOneBlockPerBlockSize() {
+        // Arrange
+        when(accountRepository.reserveAccountNumberBlock()).thenReturn(1L, 1001L);
+
+        // Act
+        Set<Long> numbers = new HashSet<>();
+        for (int i = 0; i <= AccountConstant.ACCOUNT_NUMBER_BLOCK_SIZE; i++) {
+            numbers.add(accountNumberService.nextAccountNumber());
+        }
+
+        // Assert
+        assertEquals(AccountConstant.ACCOUNT_NUMBER_BLOCK_SIZE + 1, numbers.size());
+        verify(accountRepository, times(2)).reserveAccountNumberBlock();
+    }
+
+    @Test
+    void nextAccountNumber_UniqueAcrossThreads() throws Exception {
+        // Arrange
+        AtomicLong sequence = new AtomicLong(1L);
+        when(accountRepository.reserveAccountNumberBlock())
+                .thenAnswer(invocation -> sequence.getAndAdd(AccountConstant.ACCOUNT_NUMBER_BLOCK_SIZE));
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    numbers.add(accountNumberService.nextAccountNumber());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(numbers).hasSize(40000);
+        verify(accountRepository, times(40)).reserveAccountNumberBlock();
+    }
+
+    private boolean isLuhnValid(long number) {
+        return AccountNumberServiceImpl.luhnCheckDigit(number / 10) == number % 10;
+    }
+
+    @Test
+    void nextAccountNumbers_SpansBlocks() {
+        // Arrange
+        when(accountRepository.reserveAccountNumberBlock()).thenReturn(1L, 1001L);
+        accountNumberService.nextAccountNumbers(AccountConstant.ACCOUNT_NUMBER_BLOCK_SIZE - 2);
+
+        // Act
+        List<Long> accountNumbers = accountNumberService.nextAccountNumbers(5);
+
+        // Assert
+        assertThat(accountNumbers).hasSize(5).doesNotHaveDuplicates().allMatch(this::isLuhnValid);
+        assertEquals(100000999L, accountNumbers.get(0) / 10);
+        assertEquals(100001001L, accountNumbers.get(2) / 10);
+        verify(accountRepository, times(2)).reserveAccountNumberBlock();
+    }
+}
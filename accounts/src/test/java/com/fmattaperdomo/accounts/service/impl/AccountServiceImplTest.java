@@ -1,25 +1,57 @@
 package com.fmattaperdomo.accounts.service.impl;
 
 import com.fmattaperdomo.accounts.constant.AccountConstant;
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
 import com.fmattaperdomo.accounts.dto.AccountCreateRequestDto;
 import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+import com.fmattaperdomo.accounts.dto.AccountStatusUpdateRequestDto;
+import com.fmattaperdomo.accounts.dto.AccountStatusUpdateResponseDto;
 import com.fmattaperdomo.accounts.dto.AccountUpdateRequestDto;
+import com.fmattaperdomo.accounts.dto.BulkItemResultDto;
+import com.fmattaperdomo.accounts.dto.BulkResponseDto;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
+import com.fmattaperdomo.accounts.dto.VersionDto;
 import com.fmattaperdomo.accounts.entity.Account;
 import com.fmattaperdomo.accounts.entity.Customer;
+import com.fmattaperdomo.accounts.event.AccountChangedEvent;
 import com.fmattaperdomo.accounts.exception.AccountAlreadyExistsException;
+import com.fmattaperdomo.accounts.exception.InvalidCursorException;
+import com.fmattaperdomo.accounts.exception.InvalidPatchException;
+import com.fmattaperdomo.accounts.exception.PreconditionFailedException;
 import com.fmattaperdomo.accounts.exception.ResourceNotFoundException;
-import com.fmattaperdomo.accounts.mapper.AccountMapper;
 import com.fmattaperdomo.accounts.repository.AccountRepository;
 import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import com.fmattaperdomo.accounts.service.AccountNumberService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +70,24 @@ class AccountServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private AccountNumberService accountNumberService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AuditorAware<String> auditorAware;
+
     private Account buildAccount() {
         Account account = new Account();
         account.setAccountId(1L);
@@ -60,6 +110,10 @@ class AccountServiceImplTest {
         return customer;
     }
 
+    private AccountResponseDto buildAccountResponseDto() {
+        return new AccountResponseDto(1L, 1L, 1234567890L, "Savings", "Bulevar Niza", "Active", "Cliente 1", 0L, null);
+    }
+
     private AccountCreateRequestDto buildAccountCreateRequestDto() {
         AccountCreateRequestDto dto = new AccountCreateRequestDto();
         dto.setCustomerId(1L);
@@ -84,12 +138,14 @@ class AccountServiceImplTest {
         Customer customer = buildCustomer();
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(accountRepository.findByCustomerIdAndAccountStatus(1L, "Active")).thenReturn(Optional.empty());
-        when(accountRepository.save(any(Account.class))).thenReturn(buildAccount());
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(buildAccount());
+        when(accountNumberService.nextAccountNumber()).thenReturn(1000000016L);
 
         // Act & Assert
         assertDoesNotThrow(() -> accountService.createAccount(dto));
-        verify(accountRepository, times(1)).save(any(Account.class));
+        verify(accountRepository, never()).findByCustomerIdAndAccountStatus(anyLong(), anyString());
+        verify(accountRepository, times(1)).saveAndFlush(argThat(account -> account.getAccountNumber() == 1000000016L));
+        verify(applicationEventPublisher, times(1)).publishEvent(new AccountChangedEvent(1L));
     }
 
     @Test
@@ -101,7 +157,7 @@ class AccountServiceImplTest {
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> accountService.createAccount(dto));
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountRepository, never()).saveAndFlush(any(Account.class));
     }
 
     @Test
@@ -109,14 +165,15 @@ class AccountServiceImplTest {
         // Arrange
         AccountCreateRequestDto dto = buildAccountCreateRequestDto();
         Customer customer = buildCustomer();
-        Account account = buildAccount();
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(accountRepository.findByCustomerIdAndAccountStatus(1L, "Active")).thenReturn(Optional.of(account));
+        when(accountRepository.saveAndFlush(any(Account.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(),
+                        "PUBLIC.UK_ACCOUNTS_ACTIVE_CUSTOMER_INDEX_B ON PUBLIC.ACCOUNTS(ACTIVE_CUSTOMER_ID)")));
 
         // Act & Assert
         assertThrows(AccountAlreadyExistsException.class, () -> accountService.createAccount(dto));
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(applicationEventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -132,13 +189,87 @@ class AccountServiceImplTest {
         when(accountRepository.save(any(Account.class))).thenReturn(account);
 
         // Act
-        boolean result = accountService.updateAccount(dto, accountId);
+        boolean result = accountService.updateAccount(dto, accountId, null);
+
+        // Assert
+        assertTrue(result);
+        verify(accountRepository, times(1)).save(any(Account.class));
+    }
+
+    @Test
+    void updateAccount_CustomerIdOutsideLongCache() {
+        // Arrange
+        Long accountId = 1L;
+        AccountUpdateRequestDto dto = buildAccountUpdateRequestDto();
+        dto.setCustomerId(Long.valueOf(1000L));
+        Account account = buildAccount();
+        account.setCustomerId(Long.valueOf(1000L));
+        Customer customer = buildCustomer();
+
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(customerRepository.findById(1000L)).thenReturn(Optional.of(customer));
+        when(accountRepository.save(any(Account.class))).thenReturn(account);
+
+        // Act
+        boolean result = accountService.updateAccount(dto, accountId, null);
 
         // Assert
         assertTrue(result);
         verify(accountRepository, times(1)).save(any(Account.class));
     }
 
+    @Test
+    void patchAccount() {
+        // Arrange
+        Long accountId = 1L;
+        Account account = buildAccount();
+
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.save(account)).thenReturn(account);
+
+        // Act
+        boolean result = accountService.patchAccount(accountId,
+                objectMapper.readTree("{\"branchName\": \"Castellana\"}"), null);
+
+        // Assert
+        assertTrue(result);
+        assertThat(account.getBranchName()).isEqualTo("Castellana");
+        assertThat(account.getAccountType()).isEqualTo("Savings");
+        verify(customerRepository, never()).findById(anyLong());
+        verify(applicationEventPublisher, times(1)).publishEvent(new AccountChangedEvent(1L));
+    }
+
+    @Test
+    void patchAccount_InvalidValue() {
+        // Arrange
+        Long accountId = 1L;
+
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(buildAccount()));
+
+        // Act & Assert
+        assertThrows(InvalidPatchException.class, () -> accountService.patchAccount(accountId,
+                objectMapper.readTree("{\"branchName\": null}"), null));
+        assertThrows(InvalidPatchException.class, () -> accountService.patchAccount(accountId,
+                objectMapper.readTree("[]"), null));
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    void updateAccount_VersionMismatch() {
+        // Arrange
+        Long accountId = 1L;
+        AccountUpdateRequestDto dto = buildAccountUpdateRequestDto();
+        Account account = buildAccount();
+        account.setVersion(3L);
+
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> accountService.updateAccount(dto, accountId, 2L));
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     void updateAccount_AccountNotFound() {
         // Arrange
@@ -148,7 +279,7 @@ class AccountServiceImplTest {
         when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> accountService.updateAccount(dto, accountId));
+        assertThrows(ResourceNotFoundException.class, () -> accountService.updateAccount(dto, accountId, null));
         verify(accountRepository, never()).save(any(Account.class));
     }
 
@@ -163,7 +294,7 @@ class AccountServiceImplTest {
         when(customerRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> accountService.updateAccount(dto, accountId));
+        assertThrows(ResourceNotFoundException.class, () -> accountService.updateAccount(dto, accountId, null));
         verify(accountRepository, never()).save(any(Account.class));
     }
 
@@ -180,10 +311,65 @@ class AccountServiceImplTest {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
 
         // Act & Assert
-        assertThrows(AccountAlreadyExistsException.class, () -> accountService.updateAccount(dto, accountId));
+        assertThrows(AccountAlreadyExistsException.class, () -> accountService.updateAccount(dto, accountId, null));
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    void updateAccountStatus() {
+        // Arrange
+        AccountStatusUpdateRequestDto request = new AccountStatusUpdateRequestDto("Inactive", "Bulevar Niza", null, null);
+
+        when(accountRepository.lockAccountsForStatusChange("Inactive", "Bulevar Niza", null, null))
+                .thenReturn(Map.of(10L, 1L, 11L, 1L, 12L, 2L));
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("ACCOUNTS_MS"));
+        when(accountRepository.updateAccountStatus("Inactive", Set.of(10L, 11L, 12L), "ACCOUNTS_MS"))
+                .thenReturn(3);
+
+        // Act
+        AccountStatusUpdateResponseDto result = accountService.updateAccountStatus(request);
+
+        // Assert
+        assertThat(result.getUpdated()).isEqualTo(3);
+        assertThat(result.getCustomers()).isEqualTo(2);
+        verify(applicationEventPublisher, times(1)).publishEvent(new AccountChangedEvent(1L));
+        verify(applicationEventPublisher, times(1)).publishEvent(new AccountChangedEvent(2L));
+        verify(accountRepository, never()).findById(anyLong());
         verify(accountRepository, never()).save(any(Account.class));
     }
 
+    @Test
+    void updateAccountStatus_NothingToChange() {
+        // Arrange
+        AccountStatusUpdateRequestDto request = new AccountStatusUpdateRequestDto("Inactive", null, null, List.of(1L));
+
+        when(accountRepository.lockAccountsForStatusChange("Inactive", null, null, List.of(1L))).thenReturn(Map.of());
+
+        // Act
+        AccountStatusUpdateResponseDto result = accountService.updateAccountStatus(request);
+
+        // Assert
+        assertThat(result.getUpdated()).isZero();
+        verify(accountRepository, never()).updateAccountStatus(any(), any(), any());
+        verify(applicationEventPublisher, never()).publishEvent(any(AccountChangedEvent.class));
+    }
+
+    @Test
+    void updateAccountStatus_RequiresFilter() {
+        // Act & Assert
+        assertThat(validator.validate(new AccountStatusUpdateRequestDto("Inactive", null, null, List.of())))
+                .extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactly("filterPresent");
+    }
+
+    @Test
+    void updateAccountStatus_RejectsBulkActivation() {
+        // Act & Assert
+        assertThat(validator.validate(new AccountStatusUpdateRequestDto("Active", "Bulevar Niza", null, null)))
+                .extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactly("targetStatusAllowed");
+    }
+
     @Test
     void deleteAccount() {
         // Arrange
@@ -198,6 +384,7 @@ class AccountServiceImplTest {
         // Assert
         assertTrue(result);
         verify(accountRepository, times(1)).deleteById(accountId);
+        verify(applicationEventPublisher, times(1)).publishEvent(new AccountChangedEvent(1L));
     }
 
     @Test
@@ -216,11 +403,9 @@ class AccountServiceImplTest {
     void getAccountByCustomerId() {
         // Arrange
         Long customerId = 1L;
-        Customer customer = buildCustomer();
-        Account account = buildAccount();
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
-        when(accountRepository.findByCustomerIdAndAccountStatus(customerId, "Active")).thenReturn(Optional.of(account));
+        when(accountRepository.findCustomerAccountResponse(customerId, "Active"))
+                .thenReturn(Optional.of(buildAccountResponseDto()));
 
         // Act
         AccountResponseDto result = accountService.getAccountByCustomerId(customerId);
@@ -230,6 +415,8 @@ class AccountServiceImplTest {
         assertThat(result.getAccountId()).isEqualTo(1L);
         assertThat(result.getCustomerId()).isEqualTo(1L);
         assertThat(result.getAccountType()).isEqualTo("Savings");
+        verify(customerRepository, never()).existsById(anyLong());
+        verify(customerRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -237,34 +424,84 @@ class AccountServiceImplTest {
         // Arrange
         Long customerId = 1L;
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(accountRepository.findCustomerAccountResponse(customerId, "Active")).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> accountService.getAccountByCustomerId(customerId));
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> accountService.getAccountByCustomerId(customerId));
+        assertThat(exception.getMessage()).startsWith("Customer");
     }
 
     @Test
     void getAccountByCustomerId_AccountNotFound() {
         // Arrange
         Long customerId = 1L;
-        Customer customer = buildCustomer();
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
-        when(accountRepository.findByCustomerIdAndAccountStatus(customerId, "Active")).thenReturn(Optional.empty());
+        when(accountRepository.findCustomerAccountResponse(customerId, "Active"))
+                .thenReturn(Optional.of(new AccountResponseDto(null, customerId, null, null, null, null, "Pepito Perez", null, null)));
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> accountService.getAccountByCustomerId(customerId));
+        assertThat(exception.getMessage()).startsWith("Account");
+    }
+
+    @Test
+    void getAccountByCustomerIdIfModified_NotModified() {
+        // Arrange
+        Long customerId = 1L;
+
+        when(accountRepository.findCustomerAccountVersion(customerId, "Active"))
+                .thenReturn(Optional.of(new VersionDto(1L, 0L, null)));
+
+        // Act
+        Optional<AccountResponseDto> result = accountService.getAccountByCustomerIdIfModified(customerId, version -> true);
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(accountRepository, never()).findCustomerAccountResponse(anyLong(), anyString());
+    }
+
+    @Test
+    void getAccountByCustomerIdIfModified_Modified() {
+        // Arrange
+        Long customerId = 1L;
+
+        when(accountRepository.findCustomerAccountVersion(customerId, "Active"))
+                .thenReturn(Optional.of(new VersionDto(1L, 0L, null)));
+        when(accountRepository.findCustomerAccountResponse(customerId, "Active"))
+                .thenReturn(Optional.of(buildAccountResponseDto()));
+
+        // Act
+        Optional<AccountResponseDto> result = accountService.getAccountByCustomerIdIfModified(customerId, version -> false);
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getAccountId()).isEqualTo(1L);
+    }
+
+    @Test
+    void getAccountByCustomerIdIfModified_AccountNotFound() {
+        // Arrange
+        Long customerId = 1L;
+
+        when(accountRepository.findCustomerAccountVersion(customerId, "Active"))
+                .thenReturn(Optional.of(new VersionDto(null, null, null)));
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> accountService.getAccountByCustomerId(customerId));
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> accountService.getAccountByCustomerIdIfModified(customerId, version -> false));
+        assertThat(exception.getMessage()).startsWith("Account");
     }
 
     @Test
     void getAccountsByCustomerId() {
         // Arrange
         Long customerId = 1L;
-        Account account = buildAccount();
-        List<Account> accountList = new ArrayList<>();
-        accountList.add(account);
+        List<AccountResponseDto> accountList = new ArrayList<>();
+        accountList.add(buildAccountResponseDto());
 
-        when(accountRepository.findByCustomerId(customerId)).thenReturn(accountList);
+        when(accountRepository.findAccountResponsesByCustomerId(customerId)).thenReturn(accountList);
 
         // Act
         List<AccountResponseDto> result = accountService.getAccountsByCustomerId(customerId);
@@ -277,28 +514,30 @@ class AccountServiceImplTest {
     }
 
     @Test
-    void getAccountsByCustomerId_NotFound() {
+    void getAccountsByCustomerId_Empty() {
         // Arrange
         Long customerId = 1L;
 
-        when(accountRepository.findByCustomerId(customerId)).thenReturn(new ArrayList<>());
+        when(accountRepository.findAccountResponsesByCustomerId(customerId)).thenReturn(new ArrayList<>());
 
-        // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> accountService.getAccountsByCustomerId(customerId));
+        // Act
+        List<AccountResponseDto> result = accountService.getAccountsByCustomerId(customerId);
+
+        // Assert
+        assertThat(result).isEmpty();
     }
 
     @Test
     void getAccountsByBranchName() {
         // Arrange
         String branchName = "Bulevar Niza";
-        Account account = buildAccount();
-        List<Account> accountList = new ArrayList<>();
-        accountList.add(account);
+        List<AccountResponseDto> accountList = new ArrayList<>();
+        accountList.add(buildAccountResponseDto());
 
-        when(accountRepository.findByBranchNameContainingIgnoreCase(branchName)).thenReturn(accountList);
+        when(accountRepository.findAccountResponsesByBranchName(SearchMatchMode.CONTAINS.toLikePattern(branchName))).thenReturn(accountList);
 
         // Act
-        List<AccountResponseDto> result = accountService.getAccountsByBranchName(branchName);
+        List<AccountResponseDto> result = accountService.getAccountsByBranchName(branchName, SearchMatchMode.CONTAINS);
 
         // Assert
         assertNotNull(result);
@@ -308,28 +547,43 @@ class AccountServiceImplTest {
     }
 
     @Test
-    void getAccountsByBranchName_NotFound() {
+    void getAccountsByBranchName_Empty() {
         // Arrange
         String branchName = "NonExistent";
 
-        when(accountRepository.findByBranchNameContainingIgnoreCase(branchName)).thenReturn(new ArrayList<>());
+        when(accountRepository.findAccountResponsesByBranchName(SearchMatchMode.CONTAINS.toLikePattern(branchName))).thenReturn(new ArrayList<>());
 
-        // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> accountService.getAccountsByBranchName(branchName));
+        // Act
+        List<AccountResponseDto> result = accountService.getAccountsByBranchName(branchName, SearchMatchMode.CONTAINS);
+
+        // Assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void getAccountsByBranchName_Prefix() {
+        // Arrange
+        when(accountRepository.findAccountResponsesByBranchName("bulevar%")).thenReturn(List.of(buildAccountResponseDto()));
+
+        // Act
+        List<AccountResponseDto> result = accountService.getAccountsByBranchName("Bulevar", SearchMatchMode.PREFIX);
+
+        // Assert
+        assertThat(result).hasSize(1);
+        verify(accountRepository).findAccountResponsesByBranchName("bulevar%");
     }
 
     @Test
     void getAccountsByAccountType() {
         // Arrange
         String accountType = "Savings";
-        Account account = buildAccount();
-        List<Account> accountList = new ArrayList<>();
-        accountList.add(account);
+        List<AccountResponseDto> accountList = new ArrayList<>();
+        accountList.add(buildAccountResponseDto());
 
-        when(accountRepository.findByAccountTypeContainingIgnoreCase(accountType)).thenReturn(accountList);
+        when(accountRepository.findAccountResponsesByAccountType(SearchMatchMode.CONTAINS.toLikePattern(accountType))).thenReturn(accountList);
 
         // Act
-        List<AccountResponseDto> result = accountService.getAccountsByAccountType(accountType);
+        List<AccountResponseDto> result = accountService.getAccountsByAccountType(accountType, SearchMatchMode.CONTAINS);
 
         // Assert
         assertNotNull(result);
@@ -339,28 +593,30 @@ class AccountServiceImplTest {
     }
 
     @Test
-    void getAccountsByAccountType_NotFound() {
+    void getAccountsByAccountType_Empty() {
         // Arrange
         String accountType = "NonExistent";
 
-        when(accountRepository.findByAccountTypeContainingIgnoreCase(accountType)).thenReturn(new ArrayList<>());
+        when(accountRepository.findAccountResponsesByAccountType(SearchMatchMode.CONTAINS.toLikePattern(accountType))).thenReturn(new ArrayList<>());
 
-        // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> accountService.getAccountsByAccountType(accountType));
+        // Act
+        List<AccountResponseDto> result = accountService.getAccountsByAccountType(accountType, SearchMatchMode.CONTAINS);
+
+        // Assert
+        assertThat(result).isEmpty();
     }
 
     @Test
     void getAccountsByAccountStatus() {
         // Arrange
         String accountStatus = "Active";
-        Account account = buildAccount();
-        List<Account> accountList = new ArrayList<>();
-        accountList.add(account);
+        List<AccountResponseDto> accountList = new ArrayList<>();
+        accountList.add(buildAccountResponseDto());
 
-        when(accountRepository.findByAccountStatusContainingIgnoreCase(accountStatus)).thenReturn(accountList);
+        when(accountRepository.findAccountResponsesByAccountStatus(SearchMatchMode.CONTAINS.toLikePattern(accountStatus))).thenReturn(accountList);
 
         // Act
-        List<AccountResponseDto> result = accountService.getAccountsByAccountStatus(accountStatus);
+        List<AccountResponseDto> result = accountService.getAccountsByAccountStatus(accountStatus, SearchMatchMode.CONTAINS);
 
         // Assert
         assertNotNull(result);
@@ -370,48 +626,174 @@ class AccountServiceImplTest {
     }
 
     @Test
-    void getAccountsByAccountStatus_NotFound() {
+    void getAccountsByAccountStatus_Empty() {
         // Arrange
         String accountStatus = "NonExistent";
 
-        when(accountRepository.findByAccountStatusContainingIgnoreCase(accountStatus)).thenReturn(new ArrayList<>());
+        when(accountRepository.findAccountResponsesByAccountStatus(SearchMatchMode.CONTAINS.toLikePattern(accountStatus))).thenReturn(new ArrayList<>());
 
-        // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> accountService.getAccountsByAccountStatus(accountStatus));
+        // Act
+        List<AccountResponseDto> result = accountService.getAccountsByAccountStatus(accountStatus, SearchMatchMode.CONTAINS);
+
+        // Assert
+        assertThat(result).isEmpty();
     }
 
     @Test
     void getAccounts() {
         // Arrange
-        Account account = buildAccount();
-        Customer customer = buildCustomer();
-        List<Account> accountList = new ArrayList<>();
-        accountList.add(account);
+        List<AccountResponseDto> accountList = new ArrayList<>();
+        accountList.add(buildAccountResponseDto());
 
-        when(accountRepository.findAll()).thenReturn(accountList);
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(accountRepository.findAccountResponsesAfter(eq(0L), any(Pageable.class))).thenReturn(accountList);
 
         // Act
-        List<AccountResponseDto> result = accountService.getAccounts();
+        PageResponseDto<AccountResponseDto> result = accountService.getAccounts(null, 50);
 
         // Assert
         assertNotNull(result);
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getAccountId()).isEqualTo(1L);
-        assertThat(result.get(0).getCustomerName()).isEqualTo("Cliente 1");
-        assertThat(result.get(0).getAccountType()).isEqualTo("Savings");
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getAccountId()).isEqualTo(1L);
+        assertThat(result.getContent().get(0).getCustomerName()).isEqualTo("Cliente 1");
+        assertThat(result.getContent().get(0).getAccountType()).isEqualTo("Savings");
+        assertThat(result.getNext()).isNull();
+        verify(customerRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getAccounts_NextPage() {
+        // Arrange
+        AccountResponseDto secondAccount = new AccountResponseDto(2L, 1L, 1234567890L, "Savings", "Bulevar Niza", "Active", "Cliente 1", 0L, null);
+        List<AccountResponseDto> accountList = List.of(buildAccountResponseDto(), secondAccount);
+
+        when(accountRepository.findAccountResponsesAfter(eq(0L), eq(PageRequest.of(0, 2)))).thenReturn(accountList);
+        when(accountRepository.findAccountResponsesAfter(eq(1L), eq(PageRequest.of(0, 2)))).thenReturn(List.of(secondAccount));
+
+        // Act
+        PageResponseDto<AccountResponseDto> firstPage = accountService.getAccounts(null, 1);
+        PageResponseDto<AccountResponseDto> secondPage = accountService.getAccounts(firstPage.getNext(), 1);
+
+        // Assert
+        assertThat(firstPage.getContent()).extracting(AccountResponseDto::getAccountId).containsExactly(1L);
+        assertThat(firstPage.getNext()).isNotNull();
+        assertThat(secondPage.getContent()).extracting(AccountResponseDto::getAccountId).containsExactly(2L);
+        assertThat(secondPage.getNext()).isNull();
+    }
+
+    @Test
+    void getAccounts_InvalidCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> accountService.getAccounts("not-a-cursor", 50));
     }
 
     @Test
     void getAccounts_Empty() {
         // Arrange
-        when(accountRepository.findAll()).thenReturn(new ArrayList<>());
+        when(accountRepository.findAccountResponsesAfter(eq(0L), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
-        List<AccountResponseDto> result = accountService.getAccounts();
+        PageResponseDto<AccountResponseDto> result = accountService.getAccounts(null, 50);
 
         // Assert
         assertNotNull(result);
-        assertThat(result).isEmpty();
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getNext()).isNull();
+    }
+
+    @Test
+    void exportAccounts() throws Exception {
+        // Arrange
+        AccountResponseDto secondAccount = new AccountResponseDto(2L, 1L, 1234567890L, "Savings", "Bulevar Niza", "Active", "Cliente 1", 0L, null);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        when(accountRepository.streamAllAccountResponses()).thenReturn(Stream.of(buildAccountResponseDto(), secondAccount));
+
+        // Act
+        accountService.exportAccounts(outputStream);
+
+        // Assert
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"accountId\":1").contains("\"customerName\":\"Cliente 1\"");
+        assertThat(lines[1]).contains("\"accountId\":2");
+        verify(customerRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void createAccounts_ReportsOutcomeOfEveryItem() {
+        // Arrange
+        AccountCreateRequestDto valid = buildAccountCreateRequestDto();
+        AccountCreateRequestDto invalid = buildAccountCreateRequestDto();
+        invalid.setCustomerId(2L);
+        invalid.setBranchName("");
+        AccountCreateRequestDto unknownCustomer = buildAccountCreateRequestDto();
+        unknownCustomer.setCustomerId(3L);
+        AccountCreateRequestDto alreadyActive = buildAccountCreateRequestDto();
+        alreadyActive.setCustomerId(4L);
+        AccountCreateRequestDto duplicated = buildAccountCreateRequestDto();
+
+        when(customerRepository.findCustomerIdsByCustomerIdIn(Set.of(1L, 3L, 4L))).thenReturn(List.of(1L, 4L));
+        when(accountRepository.findCustomerIdsByCustomerIdInAndAccountStatus(Set.of(1L, 3L, 4L), "Active"))
+                .thenReturn(List.of(4L));
+        when(accountNumberService.nextAccountNumbers(1)).thenReturn(List.of(1000000016L));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(accountRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Account> accounts = invocation.getArgument(0);
+            accounts.forEach(account -> account.setAccountId(10L));
+            return accounts;
+        });
+
+        // Act
+        BulkResponseDto result = accountService.createAccounts(
+                List.of(valid, invalid, unknownCustomer, alreadyActive, duplicated));
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(4, result.getRejected());
+        assertThat(result.getResults()).extracting(BulkItemResultDto::getStatusCode)
+                .containsExactly("201", "400", "404", "409", "409");
+        assertEquals(10L, result.getResults().get(0).getId());
+        verify(accountRepository, times(1)).saveAll(argThat(accounts -> {
+            Account account = accounts.iterator().next();
+            return account.getAccountNumber() == 1000000016L && "Active".equals(account.getAccountStatus());
+        }));
+        verify(applicationEventPublisher, times(1)).publishEvent(new AccountChangedEvent(1L));
+    }
+
+    @Test
+    void createAccounts_RolledBackChunkClaimsNothing() {
+        // Arrange
+        List<AccountCreateRequestDto> items = new ArrayList<>();
+        for (long customerId = 1; customerId <= AccountConstant.BULK_BATCH_SIZE; customerId++) {
+            AccountCreateRequestDto dto = buildAccountCreateRequestDto();
+            dto.setCustomerId(customerId);
+            items.add(dto);
+        }
+        // same customer as the first item, in the second chunk
+        items.add(buildAccountCreateRequestDto());
+
+        when(customerRepository.findCustomerIdsByCustomerIdIn(anyCollection()))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+        when(accountRepository.findCustomerIdsByCustomerIdInAndAccountStatus(anyCollection(), eq("Active"))).thenReturn(List.of());
+        when(accountNumberService.nextAccountNumbers(anyInt())).thenAnswer(invocation ->
+                LongStream.range(0, invocation.<Integer>getArgument(0)).boxed().toList());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(accountRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_accounts_active_customer"))
+                .thenAnswer(invocation -> {
+                    List<Account> accounts = invocation.getArgument(0);
+                    accounts.forEach(account -> account.setAccountId(10L));
+                    return accounts;
+                });
+
+        // Act
+        BulkResponseDto result = accountService.createAccounts(items);
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals("409", result.getResults().get(0).getStatusCode());
+        assertEquals("201", result.getResults().get(AccountConstant.BULK_BATCH_SIZE).getStatusCode());
     }
-}
\ No newline at end of file
+}
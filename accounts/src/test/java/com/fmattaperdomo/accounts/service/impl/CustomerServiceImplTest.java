@@ -1,23 +1,49 @@
 package com.fmattaperdomo.accounts.service.impl;
 
+import com.fmattaperdomo.accounts.constant.PageConstant;
+import com.fmattaperdomo.accounts.constant.CustomerConstant;
+import com.fmattaperdomo.accounts.constant.SearchMatchMode;
 import com.fmattaperdomo.accounts.dto.AccountResponseDto;
+import com.fmattaperdomo.accounts.dto.BulkItemResultDto;
+import com.fmattaperdomo.accounts.dto.BulkResponseDto;
 import com.fmattaperdomo.accounts.dto.CustomerRequestDto;
 import com.fmattaperdomo.accounts.dto.CustomerResponseDto;
-import com.fmattaperdomo.accounts.entity.Account;
+import com.fmattaperdomo.accounts.dto.CustomerVersionsDto;
+import com.fmattaperdomo.accounts.dto.PageResponseDto;
 import com.fmattaperdomo.accounts.entity.Customer;
+import com.fmattaperdomo.accounts.event.CustomerChangedEvent;
 import com.fmattaperdomo.accounts.exception.CustomerAlreadyExistsException;
+import com.fmattaperdomo.accounts.exception.InvalidPatchException;
+import com.fmattaperdomo.accounts.exception.PreconditionFailedException;
 import com.fmattaperdomo.accounts.exception.ResourceNotFoundException;
 import com.fmattaperdomo.accounts.repository.AccountRepository;
 import com.fmattaperdomo.accounts.repository.CustomerRepository;
+import com.fmattaperdomo.accounts.search.CustomerSearchIndex;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +62,21 @@ class CustomerServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     private Customer buildCustomer() {
         Customer customer = new Customer();
         customer.setCustomerId(1L);
@@ -47,15 +88,9 @@ class CustomerServiceImplTest {
         return customer;
     }
 
-    private Account buildAccount() {
-        Account account = new Account();
-        account.setAccountId(1L);
-        account.setCustomerId(1L);
-        account.setAccountNumber(1234567890L);
-        account.setAccountType("Savings");
-        account.setBranchName("Bulevar Niza");
-        account.setAccountStatus("Active");
-        return account;
+    private CustomerResponseDto buildCustomerResponseDto(Long customerId, String name, Long accountId) {
+        return new CustomerResponseDto(customerId, "CC", "11122233", name, "cliente1@correo.com", "1112223333", 0L,
+                null, accountId, 1234567890L, "Savings", "Bulevar Niza", "Active", 0L, null);
     }
 
     private CustomerRequestDto buildCustomerRequestDto() {
@@ -68,79 +103,122 @@ class CustomerServiceImplTest {
         return dto;
     }
 
+    private DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("duplicate", new ConstraintViolationException("duplicate",
+                new SQLException(), "PUBLIC." + constraintName + "_INDEX_4 ON PUBLIC.CUSTOMERS"));
+    }
+
     @Test
-    void getCustomerByMobileNumber() {
+    void getCustomersByMobileNumber() {
         // Arrange
         String mobileNumber = "1112223333";
-        Customer customer = buildCustomer();
-        Account account = buildAccount();
 
-        when(customerRepository.findByMobileNumber(mobileNumber)).thenReturn(Optional.of(customer));
-        when(accountRepository.findByCustomerIdAndAccountStatus(1L, "Active")).thenReturn(Optional.of(account));
+        when(customerRepository.findCustomerResponsesByMobileNumberMatching(mobileNumber))
+                .thenReturn(List.of(buildCustomerResponseDto(1L, "Cliente 1", 1L)));
 
         // Act
-        CustomerResponseDto result = customerService.getCustomerByMobileNumber(mobileNumber);
+        List<CustomerResponseDto> result = customerService.getCustomersByMobileNumber(mobileNumber, SearchMatchMode.EXACT);
 
         // Assert
-        assertNotNull(result);
-        assertThat(result.getCustomerId()).isEqualTo(1L);
-        assertThat(result.getName()).isEqualTo("Cliente 1");
-        assertThat(result.getMobileNumber()).isEqualTo("1112223333");
-        assertThat(result.getAccountResponseDto()).isNotNull();
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getCustomerId()).isEqualTo(1L);
+        assertThat(result.get(0).getName()).isEqualTo("Cliente 1");
+        assertThat(result.get(0).getMobileNumber()).isEqualTo("1112223333");
+        assertThat(result.get(0).getAccountResponseDto()).isNotNull();
     }
 
     @Test
-    void getCustomerByMobileNumber_NotFound() {
+    void getCustomersByMobileNumber_NotFound() {
         // Arrange
         String mobileNumber = "9999999999";
 
-        when(customerRepository.findByMobileNumber(mobileNumber)).thenReturn(Optional.empty());
+        when(customerRepository.findCustomerResponsesByMobileNumberMatching(mobileNumber + "%")).thenReturn(List.of());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomerByMobileNumber(mobileNumber));
+        assertThat(customerService.getCustomersByMobileNumber(mobileNumber, SearchMatchMode.PREFIX)).isEmpty();
     }
 
     @Test
-    void getCustomerByEmail() {
+    void getCustomersByEmail() {
         // Arrange
-        String email = "cliente1@correo.com";
-        Customer customer = buildCustomer();
-        Account account = buildAccount();
+        String email = "Cliente1@correo.com";
 
-        when(customerRepository.findByEmail(email)).thenReturn(Optional.of(customer));
-        when(accountRepository.findByCustomerIdAndAccountStatus(1L, "Active")).thenReturn(Optional.of(account));
+        when(customerRepository.findCustomerResponsesByEmailMatching("cliente1@correo.com"))
+                .thenReturn(List.of(buildCustomerResponseDto(1L, "Cliente 1", 1L)));
 
         // Act
-        CustomerResponseDto result = customerService.getCustomerByEmail(email);
+        List<CustomerResponseDto> result = customerService.getCustomersByEmail(email, SearchMatchMode.EXACT);
 
         // Assert
-        assertNotNull(result);
-        assertThat(result.getCustomerId()).isEqualTo(1L);
-        assertThat(result.getEmail()).isEqualTo("cliente1@correo.com");
-        assertThat(result.getName()).isEqualTo("Cliente 1");
-        assertThat(result.getAccountResponseDto()).isNotNull();
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getCustomerId()).isEqualTo(1L);
+        assertThat(result.get(0).getEmail()).isEqualTo("cliente1@correo.com");
+        assertThat(result.get(0).getName()).isEqualTo("Cliente 1");
+        assertThat(result.get(0).getAccountResponseDto()).isNotNull();
     }
 
     @Test
-    void getCustomerByEmail_NotFound() {
+    void getCustomersByEmail_NotFound() {
         // Arrange
         String email = "notexist@correo.com";
 
-        when(customerRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(customerRepository.findCustomerResponsesByEmailMatching("%notexist@correo.com%")).thenReturn(List.of());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomerByEmail(email));
+        assertThat(customerService.getCustomersByEmail(email, SearchMatchMode.CONTAINS)).isEmpty();
+    }
+
+    @Test
+    void getCustomersByName_ContainsUsesSearchIndex() {
+        // Arrange
+        CustomerResponseDto customer = buildCustomerResponseDto(1L, "Cliente 1", 1L);
+        CustomerResponseDto falsePositive = buildCustomerResponseDto(2L, "Ente Clio", null);
+
+        when(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.NAME, "ENTE 1"))
+                .thenReturn(Optional.of(Set.of(1L, 2L)));
+        when(customerRepository.findCustomerResponsesByCustomerIdIn(anyCollection())).thenReturn(List.of(falsePositive, customer));
+
+        // Act
+        List<CustomerResponseDto> result = customerService.getCustomersByName("ENTE 1", SearchMatchMode.CONTAINS);
+
+        // Assert
+        assertThat(result).extracting(CustomerResponseDto::getCustomerId).containsExactly(1L);
+        verify(customerRepository, never()).findCustomerResponsesByNameMatching(anyString());
+    }
+
+    @Test
+    void getCustomersByName_ContainsFallsBackToDatabase() {
+        // Arrange
+        when(customerSearchIndex.findCandidates(CustomerSearchIndex.Field.NAME, "e1")).thenReturn(Optional.empty());
+        when(customerRepository.findCustomerResponsesByNameMatching("%e1%")).thenReturn(List.of());
+
+        // Act
+        List<CustomerResponseDto> result = customerService.getCustomersByName("e1", SearchMatchMode.CONTAINS);
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(customerRepository).findCustomerResponsesByNameMatching("%e1%");
+    }
+
+    @Test
+    void getCustomersByName_EscapesWildcards() {
+        // Arrange
+        when(customerRepository.findCustomerResponsesByNameMatching("100\\%\\_off%")).thenReturn(List.of());
+
+        // Act
+        customerService.getCustomersByName("100%_OFF", SearchMatchMode.PREFIX);
+
+        // Assert
+        verify(customerRepository).findCustomerResponsesByNameMatching("100\\%\\_off%");
     }
 
     @Test
     void getCustomerById() {
         // Arrange
         Long customerId = 1L;
-        Customer customer = buildCustomer();
-        Account account = buildAccount();
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
-        when(accountRepository.findByCustomerIdAndAccountStatus(customerId, "Active")).thenReturn(Optional.of(account));
+        when(customerRepository.findCustomerResponseById(customerId))
+                .thenReturn(Optional.of(buildCustomerResponseDto(1L, "Cliente 1", 1L)));
 
         // Act
         CustomerResponseDto result = customerService.getCustomerById(customerId);
@@ -150,7 +228,9 @@ class CustomerServiceImplTest {
         assertThat(result.getCustomerId()).isEqualTo(1L);
         assertThat(result.getName()).isEqualTo("Cliente 1");
         assertThat(result.getEmail()).isEqualTo("cliente1@correo.com");
-        assertThat(result.getAccountResponseDto()).isNotNull();
+        assertThat(result.getAccountResponseDto().getAccountId()).isEqualTo(1L);
+        assertThat(result.getAccountResponseDto().getCustomerId()).isEqualTo(1L);
+        verify(customerRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -158,44 +238,119 @@ class CustomerServiceImplTest {
         // Arrange
         Long customerId = 999L;
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.findCustomerResponseById(customerId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomerById(customerId));
     }
 
+    @Test
+    void getCustomerByIdIfModified_NotModified() {
+        // Arrange
+        Long customerId = 1L;
+
+        when(customerRepository.findVersionsByCustomerId(customerId))
+                .thenReturn(Optional.of(new CustomerVersionsDto(customerId, 0L, null, 1L, 0L, null)));
+
+        // Act
+        Optional<CustomerResponseDto> result = customerService.getCustomerByIdIfModified(customerId, versions -> true);
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(customerRepository, never()).findCustomerResponseById(anyLong());
+    }
+
+    @Test
+    void getCustomerByIdIfModified_Modified() {
+        // Arrange
+        Long customerId = 1L;
+
+        when(customerRepository.findVersionsByCustomerId(customerId))
+                .thenReturn(Optional.of(new CustomerVersionsDto(customerId, 1L, null, 1L, 0L, null)));
+        when(customerRepository.findCustomerResponseById(customerId))
+                .thenReturn(Optional.of(buildCustomerResponseDto(1L, "Cliente 1", 1L)));
+
+        // Act
+        Optional<CustomerResponseDto> result = customerService.getCustomerByIdIfModified(customerId,
+                versions -> versions.getCustomer().getVersion() == 0L);
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getName()).isEqualTo("Cliente 1");
+    }
+
+    @Test
+    void getCustomerByIdIfModified_NotFound() {
+        // Arrange
+        Long customerId = 999L;
+
+        when(customerRepository.findVersionsByCustomerId(customerId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> customerService.getCustomerByIdIfModified(customerId, versions -> false));
+        verify(customerRepository, never()).findCustomerResponseById(anyLong());
+    }
+
     @Test
     void getCustomers() {
         // Arrange
-        Customer customer = buildCustomer();
-        Account account = buildAccount();
-        List<Customer> customerList = new ArrayList<>();
-        customerList.add(customer);
+        List<CustomerResponseDto> customerList = new ArrayList<>();
+        customerList.add(buildCustomerResponseDto(1L, "Cliente 1", 1L));
 
-        when(customerRepository.findAll()).thenReturn(customerList);
-        when(accountRepository.findByCustomerIdAndAccountStatus(1L, "Active")).thenReturn(Optional.of(account));
+        when(customerRepository.findCustomerResponsesAfter(eq(0L), any(Pageable.class))).thenReturn(customerList);
 
         // Act
-        List<CustomerResponseDto> result = customerService.getCustomers();
+        List<CustomerResponseDto> result = customerService.getCustomers(null, 50).getContent();
 
         // Assert
         assertNotNull(result);
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getCustomerId()).isEqualTo(1L);
         assertThat(result.get(0).getName()).isEqualTo("Cliente 1");
+        assertThat(result.get(0).getAccountResponseDto().getAccountId()).isEqualTo(1L);
+    }
+
+    @Test
+    void getCustomers_LoadsActiveAccountsInOneQuery() {
+        // Arrange
+        when(customerRepository.findCustomerResponsesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(buildCustomerResponseDto(1L, "Cliente 1", 1L), buildCustomerResponseDto(2L, "Cliente 2", null)));
+
+        // Act
+        List<CustomerResponseDto> result = customerService.getCustomers(null, 50).getContent();
+
+        // Assert
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getAccountResponseDto().getAccountId()).isEqualTo(1L);
+        assertThat(result.get(1).getAccountResponseDto().getAccountId()).isNull();
+        verifyNoInteractions(accountRepository);
     }
 
     @Test
     void getCustomers_Empty() {
         // Arrange
-        when(customerRepository.findAll()).thenReturn(new ArrayList<>());
+        when(customerRepository.findCustomerResponsesAfter(eq(0L), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
-        List<CustomerResponseDto> result = customerService.getCustomers();
+        PageResponseDto<CustomerResponseDto> result = customerService.getCustomers(null, 50);
 
         // Assert
         assertNotNull(result);
-        assertThat(result).isEmpty();
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getNext()).isNull();
+    }
+
+    @Test
+    void getCustomers_PageSizeIsCapped() {
+        // Arrange
+        when(customerRepository.findCustomerResponsesAfter(eq(0L), any(Pageable.class))).thenReturn(new ArrayList<>());
+
+        // Act
+        customerService.getCustomers(null, 1_000_000);
+
+        // Assert
+        verify(customerRepository).findCustomerResponsesAfter(0L, PageRequest.of(0, PageConstant.MAX_PAGE_SIZE + 1));
     }
 
     @Test
@@ -203,56 +358,53 @@ class CustomerServiceImplTest {
         // Arrange
         CustomerRequestDto dto = buildCustomerRequestDto();
 
-        when(customerRepository.findByEmail(dto.getEmail())).thenReturn(Optional.empty());
-        when(customerRepository.findByMobileNumber(dto.getMobileNumber())).thenReturn(Optional.empty());
-        when(customerRepository.findByDocumentNumber(dto.getDocumentNumber())).thenReturn(Optional.empty());
-        when(customerRepository.save(any(Customer.class))).thenReturn(buildCustomer());
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(buildCustomer());
 
         // Act & Assert
         assertDoesNotThrow(() -> customerService.createCustomer(dto));
-        verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(customerRepository, never()).findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(any(), any(), any(), any());
+        verify(customerRepository, times(1)).saveAndFlush(any(Customer.class));
+        verify(applicationEventPublisher, times(1)).publishEvent(any(CustomerChangedEvent.class));
     }
 
     @Test
     void createCustomer_EmailAlreadyExists() {
         // Arrange
         CustomerRequestDto dto = buildCustomerRequestDto();
-        Customer customer = buildCustomer();
 
-        when(customerRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(customer));
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenThrow(uniqueViolation("UK_CUSTOMERS_EMAIL"));
 
         // Act & Assert
-        assertThrows(CustomerAlreadyExistsException.class, () -> customerService.createCustomer(dto));
-        verify(customerRepository, never()).save(any(Customer.class));
+        CustomerAlreadyExistsException exception = assertThrows(CustomerAlreadyExistsException.class,
+                () -> customerService.createCustomer(dto));
+        assertThat(exception.getMessage()).isEqualTo("Customer already registered with given email cliente1@correo.com");
+        verify(applicationEventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void createCustomer_MobileNumberAlreadyExists() {
         // Arrange
         CustomerRequestDto dto = buildCustomerRequestDto();
-        Customer customer = buildCustomer();
 
-        when(customerRepository.findByEmail(dto.getEmail())).thenReturn(Optional.empty());
-        when(customerRepository.findByMobileNumber(dto.getMobileNumber())).thenReturn(Optional.of(customer));
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenThrow(uniqueViolation("UK_CUSTOMERS_MOBILE_NUMBER"));
 
         // Act & Assert
-        assertThrows(CustomerAlreadyExistsException.class, () -> customerService.createCustomer(dto));
-        verify(customerRepository, never()).save(any(Customer.class));
+        CustomerAlreadyExistsException exception = assertThrows(CustomerAlreadyExistsException.class,
+                () -> customerService.createCustomer(dto));
+        assertThat(exception.getMessage()).isEqualTo("Customer already registered with given mobile number 1112223333");
     }
 
     @Test
     void createCustomer_DocumentNumberAlreadyExists() {
         // Arrange
         CustomerRequestDto dto = buildCustomerRequestDto();
-        Customer customer = buildCustomer();
 
-        when(customerRepository.findByEmail(dto.getEmail())).thenReturn(Optional.empty());
-        when(customerRepository.findByMobileNumber(dto.getMobileNumber())).thenReturn(Optional.empty());
-        when(customerRepository.findByDocumentNumber(dto.getDocumentNumber())).thenReturn(Optional.of(customer));
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenThrow(uniqueViolation("UK_CUSTOMERS_DOCUMENT_NUMBER"));
 
         // Act & Assert
-        assertThrows(CustomerAlreadyExistsException.class, () -> customerService.createCustomer(dto));
-        verify(customerRepository, never()).save(any(Customer.class));
+        CustomerAlreadyExistsException exception = assertThrows(CustomerAlreadyExistsException.class,
+                () -> customerService.createCustomer(dto));
+        assertThat(exception.getMessage()).isEqualTo("Customer already registered with given document number 11122233");
     }
 
     @Test
@@ -262,18 +414,71 @@ class CustomerServiceImplTest {
         CustomerRequestDto dto = buildCustomerRequestDto();
         Customer customer = buildCustomer();
 
-        when(customerRepository.findByEmailAndCustomerIdNot(dto.getEmail(), customerId)).thenReturn(Optional.empty());
-        when(customerRepository.findByMobileNumberAndCustomerIdNot(dto.getMobileNumber(), customerId)).thenReturn(Optional.empty());
-        when(customerRepository.findByDocumentNumberAndCustomerIdNot(dto.getDocumentNumber(), customerId)).thenReturn(Optional.empty());
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
-        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+        when(customerRepository.findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(
+                customerId, dto.getEmail(), dto.getMobileNumber(), dto.getDocumentNumber())).thenReturn(List.of(customer));
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(customer);
 
         // Act
-        boolean result = customerService.updateCustomer(dto, customerId);
+        boolean result = customerService.updateCustomer(dto, customerId, null);
 
         // Assert
         assertTrue(result);
-        verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(customerRepository, never()).findById(anyLong());
+        verify(customerRepository, times(1)).saveAndFlush(any(Customer.class));
+    }
+
+    @Test
+    void patchCustomer_OnlyName() {
+        // Arrange
+        Long customerId = 1L;
+        Customer customer = buildCustomer();
+
+        when(customerRepository.findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(customerId, null, null, null))
+                .thenReturn(List.of(customer));
+        when(customerRepository.saveAndFlush(customer)).thenReturn(customer);
+
+        // Act
+        boolean result = customerService.patchCustomer(customerId,
+                objectMapper.readTree("{\"name\": \"Cliente Nuevo\"}"), null);
+
+        // Assert
+        assertTrue(result);
+        assertThat(customer.getName()).isEqualTo("Cliente Nuevo");
+        assertThat(customer.getEmail()).isEqualTo("cliente1@correo.com");
+        verify(customerRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void patchCustomer_InvalidValue() {
+        // Arrange
+        Long customerId = 1L;
+        Customer customer = buildCustomer();
+
+        when(customerRepository.findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(customerId, "not-an-email", null, null))
+                .thenReturn(List.of(customer));
+
+        // Act & Assert
+        InvalidPatchException exception = assertThrows(InvalidPatchException.class, () -> customerService.patchCustomer(
+                customerId, objectMapper.readTree("{\"email\": \"not-an-email\", \"mobileNumber\": null}"), null));
+        assertThat(exception.getMessage()).contains("email: Email address should be a valid value");
+        assertThat(customer.getEmail()).isEqualTo("cliente1@correo.com");
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+    }
+
+    @Test
+    void updateCustomer_VersionMismatch() {
+        // Arrange
+        Long customerId = 1L;
+        CustomerRequestDto dto = buildCustomerRequestDto();
+        Customer customer = buildCustomer();
+        customer.setVersion(3L);
+
+        when(customerRepository.findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(
+                customerId, dto.getEmail(), dto.getMobileNumber(), dto.getDocumentNumber())).thenReturn(List.of(customer));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> customerService.updateCustomer(dto, customerId, 2L));
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -282,12 +487,19 @@ class CustomerServiceImplTest {
         Long customerId = 1L;
         CustomerRequestDto dto = buildCustomerRequestDto();
         Customer customer = buildCustomer();
+        Customer other = buildCustomer();
+        other.setCustomerId(2L);
+        other.setMobileNumber("9998887777");
+        other.setDocumentNumber("99988877");
 
-        when(customerRepository.findByEmailAndCustomerIdNot(dto.getEmail(), customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(
+                customerId, dto.getEmail(), dto.getMobileNumber(), dto.getDocumentNumber())).thenReturn(List.of(customer, other));
 
         // Act & Assert
-        assertThrows(CustomerAlreadyExistsException.class, () -> customerService.updateCustomer(dto, customerId));
-        verify(customerRepository, never()).save(any(Customer.class));
+        CustomerAlreadyExistsException exception = assertThrows(CustomerAlreadyExistsException.class,
+                () -> customerService.updateCustomer(dto, customerId, null));
+        assertThat(exception.getMessage()).contains("email");
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -295,14 +507,19 @@ class CustomerServiceImplTest {
         // Arrange
         Long customerId = 1L;
         CustomerRequestDto dto = buildCustomerRequestDto();
-        Customer customer = buildCustomer();
+        Customer other = buildCustomer();
+        other.setCustomerId(2L);
+        other.setEmail("otro@correo.com");
+        other.setDocumentNumber("99988877");
 
-        when(customerRepository.findByEmailAndCustomerIdNot(dto.getEmail(), customerId)).thenReturn(Optional.empty());
-        when(customerRepository.findByMobileNumberAndCustomerIdNot(dto.getMobileNumber(), customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(
+                customerId, dto.getEmail(), dto.getMobileNumber(), dto.getDocumentNumber())).thenReturn(List.of(other));
 
         // Act & Assert
-        assertThrows(CustomerAlreadyExistsException.class, () -> customerService.updateCustomer(dto, customerId));
-        verify(customerRepository, never()).save(any(Customer.class));
+        CustomerAlreadyExistsException exception = assertThrows(CustomerAlreadyExistsException.class,
+                () -> customerService.updateCustomer(dto, customerId, null));
+        assertThat(exception.getMessage()).contains("mobile number");
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -310,15 +527,19 @@ class CustomerServiceImplTest {
         // Arrange
         Long customerId = 1L;
         CustomerRequestDto dto = buildCustomerRequestDto();
-        Customer customer = buildCustomer();
+        Customer other = buildCustomer();
+        other.setCustomerId(2L);
+        other.setEmail("otro@correo.com");
+        other.setMobileNumber("9998887777");
 
-        when(customerRepository.findByEmailAndCustomerIdNot(dto.getEmail(), customerId)).thenReturn(Optional.empty());
-        when(customerRepository.findByMobileNumberAndCustomerIdNot(dto.getMobileNumber(), customerId)).thenReturn(Optional.empty());
-        when(customerRepository.findByDocumentNumberAndCustomerIdNot(dto.getDocumentNumber(), customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(
+                customerId, dto.getEmail(), dto.getMobileNumber(), dto.getDocumentNumber())).thenReturn(List.of(other));
 
         // Act & Assert
-        assertThrows(CustomerAlreadyExistsException.class, () -> customerService.updateCustomer(dto, customerId));
-        verify(customerRepository, never()).save(any(Customer.class));
+        CustomerAlreadyExistsException exception = assertThrows(CustomerAlreadyExistsException.class,
+                () -> customerService.updateCustomer(dto, customerId, null));
+        assertThat(exception.getMessage()).contains("document number");
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -327,23 +548,21 @@ class CustomerServiceImplTest {
         Long customerId = 999L;
         CustomerRequestDto dto = buildCustomerRequestDto();
 
-        when(customerRepository.findByEmailAndCustomerIdNot(dto.getEmail(), customerId)).thenReturn(Optional.empty());
-        when(customerRepository.findByMobileNumberAndCustomerIdNot(dto.getMobileNumber(), customerId)).thenReturn(Optional.empty());
-        when(customerRepository.findByDocumentNumberAndCustomerIdNot(dto.getDocumentNumber(), customerId)).thenReturn(Optional.empty());
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.findByCustomerIdOrEmailOrMobileNumberOrDocumentNumber(
+                customerId, dto.getEmail(), dto.getMobileNumber(), dto.getDocumentNumber())).thenReturn(List.of());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> customerService.updateCustomer(dto, customerId));
-        verify(customerRepository, never()).save(any(Customer.class));
+        assertThrows(ResourceNotFoundException.class, () -> customerService.updateCustomer(dto, customerId, null));
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
     }
 
     @Test
     void deleteCustomer() {
         // Arrange
         Long customerId = 1L;
-        Customer customer = buildCustomer();
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(accountRepository.deleteByCustomerId(customerId)).thenReturn(3);
+        when(customerRepository.deleteByCustomerId(customerId)).thenReturn(1);
 
         // Act
         boolean result = customerService.deleteCustomer(customerId);
@@ -351,7 +570,9 @@ class CustomerServiceImplTest {
         // Assert
         assertTrue(result);
         verify(accountRepository, times(1)).deleteByCustomerId(customerId);
-        verify(customerRepository, times(1)).deleteById(customerId);
+        verify(customerRepository, times(1)).deleteByCustomerId(customerId);
+        verify(customerRepository, never()).findById(anyLong());
+        verify(applicationEventPublisher, times(1)).publishEvent(new CustomerChangedEvent(customerId, null));
     }
 
     @Test
@@ -359,12 +580,119 @@ class CustomerServiceImplTest {
         // Arrange
         Long customerId = 999L;
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.deleteByCustomerId(customerId)).thenReturn(0);
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> customerService.deleteCustomer(customerId));
-        verify(accountRepository, never()).deleteByCustomerId(customerId);
-        verify(customerRepository, never()).deleteById(customerId);
+        verify(applicationEventPublisher, never()).publishEvent(any(CustomerChangedEvent.class));
     }
-}
 
+    @Test
+    void createCustomers_ReportsOutcomeOfEveryItem() {
+        // Arrange
+        CustomerRequestDto valid = buildCustomerRequestDto();
+        CustomerRequestDto invalid = buildCustomerRequestDto();
+        invalid.setEmail("not-an-email");
+        CustomerRequestDto duplicated = buildCustomerRequestDto();
+        duplicated.setMobileNumber("1112224444");
+        duplicated.setDocumentNumber("11122244");
+        CustomerRequestDto registered = buildCustomerRequestDto();
+        registered.setEmail("cliente2@correo.com");
+        registered.setMobileNumber("1112225555");
+        registered.setDocumentNumber("99988877");
+        Customer existing = buildCustomer();
+        existing.setEmail("cliente3@correo.com");
+        existing.setMobileNumber("1112226666");
+        existing.setDocumentNumber("99988877");
+
+        when(customerRepository.findByEmailInOrMobileNumberInOrDocumentNumberIn(anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(List.of(existing));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(customerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> customers = invocation.getArgument(0);
+            customers.forEach(customer -> customer.setCustomerId(10L));
+            return customers;
+        });
+
+        // Act
+        BulkResponseDto result = customerService.createCustomers(List.of(valid, invalid, duplicated, registered));
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(3, result.getRejected());
+        assertThat(result.getResults()).extracting(BulkItemResultDto::getStatusCode)
+                .containsExactly("201", "400", "409", "409");
+        assertEquals(10L, result.getResults().get(0).getId());
+        assertThat(result.getResults().get(1).getStatusMsg()).startsWith("email:");
+        assertThat(result.getResults().get(2).getStatusMsg()).startsWith("Email duplicated in request");
+        assertThat(result.getResults().get(3).getStatusMsg()).contains("document number 99988877");
+        verify(customerRepository, times(1)).findByEmailInOrMobileNumberInOrDocumentNumberIn(anyCollection(), anyCollection(), anyCollection());
+        verify(customerRepository, times(1)).saveAll(anyList());
+        verify(applicationEventPublisher, times(1)).publishEvent(any(CustomerChangedEvent.class));
+    }
+
+    @Test
+    void createCustomers_RolledBackChunkClaimsNothing() {
+        // Arrange
+        List<CustomerRequestDto> items = new ArrayList<>();
+        for (int i = 0; i < CustomerConstant.BULK_BATCH_SIZE; i++) {
+            CustomerRequestDto dto = buildCustomerRequestDto();
+            dto.setEmail("cliente" + i + "@correo.com");
+            dto.setMobileNumber(String.valueOf(3000000000L + i));
+            dto.setDocumentNumber(String.valueOf(10000000 + i));
+            items.add(dto);
+        }
+        // same values as the first item, in the second chunk
+        CustomerRequestDto retried = buildCustomerRequestDto();
+        retried.setEmail("cliente0@correo.com");
+        retried.setMobileNumber("3000000000");
+        retried.setDocumentNumber("10000000");
+        items.add(retried);
+
+        when(customerRepository.findByEmailInOrMobileNumberInOrDocumentNumberIn(anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(List.of());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(customerRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_customers_email"))
+                .thenAnswer(invocation -> {
+                    List<Customer> customers = invocation.getArgument(0);
+                    customers.forEach(customer -> customer.setCustomerId(10L));
+                    return customers;
+                });
+
+        // Act
+        BulkResponseDto result = customerService.createCustomers(items);
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(CustomerConstant.BULK_BATCH_SIZE, result.getRejected());
+        assertEquals("409", result.getResults().get(0).getStatusCode());
+        assertEquals("201", result.getResults().get(CustomerConstant.BULK_BATCH_SIZE).getStatusCode());
+    }
+
+    @Test
+    void createCustomers_NdjsonRejectsMalformedLine() {
+        // Arrange
+        String ndjson = "{\"documentType\":\"CC\",\"documentNumber\":\"11122233\",\"name\":\"Cliente 1\","
+                + "\"email\":\"cliente1@correo.com\",\"mobileNumber\":\"1112223333\"}\n"
+                + "\n"
+                + "{not json\n";
+
+        when(customerRepository.findByEmailInOrMobileNumberInOrDocumentNumberIn(anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(List.of());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // Act
+        BulkResponseDto result = customerService.createCustomers(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertThat(result.getResults()).extracting(BulkItemResultDto::getIndex).containsExactly(0, 1);
+        assertEquals("400", result.getResults().get(1).getStatusCode());
+        assertThat(result.getResults().get(1).getStatusMsg()).startsWith("Malformed JSON");
+    }
+}